@@ -0,0 +1,34 @@
+package com.polylines.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import com.google.maps.model.EncodedPolyline;
+import com.google.maps.model.LatLng;
+
+final class BenchmarkRoutes {
+
+    static final String SHORT_POLYLINE = "mpjyHx`i@VjAVKnAh@BHHX@LZR@Bj@Ml@WWc@]w@bAyAfBmCb@o@pLeQfCsDVa@@ODQR}AJ{A?{BGuAD_@FKb@MTUX]Le@^kBVcAVo@Ta@|EaFh@m@FWaA{DCo@q@mCm@cC{A_GWeA}@sGSeAcA_EOSMa@}A_GsAwFkAiEoAaFaBoEGo@]_AIWW{AQyAUyBQqAI_BFkEd@aHZcDlAyJLaBPqDDeD?mBEiA}@F]yKWqGSkICmCIeZIuZi@_Sw@{WgAoXS{DOcAWq@KQGIFQDGn@Y`@MJEFIHyAVQVOJGHgFRJBBCCSKBcAKoACyA?m@^yVJmLJ{FGGWq@e@eBIe@Ei@?q@Bk@Hs@Le@Rk@gCuIkJcZsDwLd@g@Oe@o@mB{BgHQYq@qBQYOMSMGBUBGCYc@E_@H]DWJST?JFFHBDNBJ?LED?LBv@WfAc@@EDGNK|@e@hAa@`Bk@b@OEk@Go@IeACoA@a@PyB`@yDDc@e@K{Bi@oA_@w@]m@_@]QkBoAwC{BmAeAo@s@uAoB_AaBmAwCa@mAo@iCgAwFg@iDq@}G[uEU_GBuP@cICmA?eI?qCB{FBkCI}BOyCMiAGcAC{AN{YFqD^}FR}CNu@JcAHu@b@_E`@}DVsB^mBTsAQKkCmAg@[YQOIOvAi@[m@e@s@g@GKCKAEJIn@g@GYGIc@ScBoAf@{A`@uAlBfAG`@";
+    static final String LONG_POLYLINE = randomWalk(200_000);
+
+    private BenchmarkRoutes() {
+    }
+
+    static String polyline(String length) {
+        return "long".equals(length) ? LONG_POLYLINE : SHORT_POLYLINE;
+    }
+
+    //A dense route of a few meters per segment, like the ones decoded from real GPS traces
+    private static String randomWalk(int points) {
+        Random random = new Random(42);
+        List<LatLng> path = new ArrayList<>(points);
+        double lat = 41.84888;
+        double lng = -87.63860;
+        for (int i = 0; i < points; i++) {
+            path.add(new LatLng(lat, lng));
+            lat += (random.nextInt(9) - 4) * 1e-5;
+            lng += (random.nextInt(9) - 4) * 1e-5;
+        }
+        return new EncodedPolyline(path).getEncodedPath();
+    }
+}
@@ -0,0 +1,68 @@
+package com.polylines.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.polylines.domain.robot.GeoPoint;
+import com.polylines.domain.robot.Route;
+import com.polylines.infraestructure.DistanceCalculator;
+import com.polylines.infraestructure.PolylineDecoder;
+import com.polylines.domain.robot.distance.DistanceKernels;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistanceBenchmark {
+
+    private GeoPoint start;
+    private GeoPoint end;
+    private double[] lats;
+    private double[] lngs;
+    private double[] meters;
+
+    @Setup
+    public void setup() {
+        start = new GeoPoint(41.84888, -87.63860);
+        end = new GeoPoint(41.84856, -87.63831);
+        Route route = PolylineDecoder.decode(BenchmarkRoutes.SHORT_POLYLINE);
+        lats = new double[route.size()];
+        lngs = new double[route.size()];
+        meters = new double[route.size()];
+        for (int i = 0; i < route.size(); i++) {
+            lats[i] = route.lat(i);
+            lngs[i] = route.lng(i);
+        }
+    }
+
+    @Benchmark
+    public double distanceCalculator() {
+        return DistanceCalculator.calculate(start, end);
+    }
+
+    @Benchmark
+    public double equirectangular() {
+        return DistanceKernels.EQUIRECTANGULAR.distance(start.lat, start.lng, end.lat, end.lng);
+    }
+
+    @Benchmark
+    public double vincenty() {
+        return DistanceKernels.VINCENTY.distance(start.lat, start.lng, end.lat, end.lng);
+    }
+
+    @Benchmark
+    public double[] haversineBatch() {
+        DistanceKernels.HAVERSINE.distancesToPrevious(lats, lngs, 0, lats.length, meters);
+        return meters;
+    }
+}
@@ -0,0 +1,69 @@
+package com.polylines.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import com.polylines.application.fleet.Fleet;
+import com.polylines.application.readparticles.SeededParticleReaders;
+import com.polylines.domain.robot.Robot;
+import com.polylines.domain.robot.RobotValidationException;
+import com.polylines.domain.robot.Route;
+import com.polylines.infraestructure.PolylineDecoder;
+
+//How long a fleet takes to resume from a checkpoint; ten thousand robots should take well under a second
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FleetRestoreBenchmark {
+
+    @Param({"10000"})
+    public int fleetSize;
+
+    private Path checkpoint;
+    private Fleet resumed;
+
+    @Setup
+    public void checkpointAFleetOnTheWay() throws RobotValidationException, IOException {
+        Route route = PolylineDecoder.decode(BenchmarkRoutes.SHORT_POLYLINE);
+        Fleet crashed = new Fleet(1);
+        resumed = new Fleet(1);
+        for (int i = 0; i < fleetSize; i++) {
+            crashed.add(new Robot(i, route, 7.3), new SeededParticleReaders(1).apply(i), report -> { });
+            resumed.add(new Robot(i, route, 7.3), new SeededParticleReaders(2).apply(i), report -> { });
+        }
+        for (int tick = 0; tick < 57; tick++) {
+            crashed.tick();
+        }
+        checkpoint = Files.createTempFile("fleet", ".bin");
+        crashed.checkpoint(checkpoint);
+        crashed.shutdown();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        resumed.shutdown();
+        Files.delete(checkpoint);
+    }
+
+    //Restoring the same checkpoint again leaves the fleet as the first time did
+    @Benchmark
+    public int restore() throws IOException {
+        return resumed.restore(checkpoint);
+    }
+}
@@ -0,0 +1,60 @@
+package com.polylines.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import com.polylines.domain.reporting.Location;
+import com.polylines.domain.reporting.Report;
+import com.polylines.domain.robot.Robot;
+import com.polylines.infraestructure.reportprinting.JsonReportPrinter;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonReportPrinterBenchmark {
+
+    private final JsonReportPrinter printer = new JsonReportPrinter();
+    private Report report;
+    private PrintStream originalOut;
+
+    //The printer writes to stdout, which is redirected to a sink so the terminal is not measured
+    @Setup
+    public void setup() {
+        report = new Report(1588766610723L, new Location(51.502659365074685, -0.14119854637849288),
+                Report.Level.Moderate, Robot.SOURCE);
+        originalOut = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void print() {
+        printer.print(report);
+    }
+}
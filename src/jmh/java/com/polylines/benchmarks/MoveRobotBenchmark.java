@@ -0,0 +1,62 @@
+package com.polylines.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.polylines.application.moverobot.RobotPollutionCollector;
+import com.polylines.application.readparticles.RandomParticleReader;
+import com.polylines.domain.robot.GeoPoint;
+import com.polylines.domain.robot.Robot;
+import com.polylines.domain.robot.RobotValidationException;
+import com.polylines.domain.robot.Route;
+import com.polylines.infraestructure.PolylineDecoder;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveRobotBenchmark {
+
+    @Param({"short", "long"})
+    public String polyline;
+
+    @Param({"2", "50"})
+    public double speed;
+
+    private Route route;
+    private Robot robot;
+    private RobotPollutionCollector collector;
+
+    @Setup(Level.Trial)
+    public void decode() {
+        route = PolylineDecoder.decode(BenchmarkRoutes.polyline(polyline));
+    }
+
+    @Setup(Level.Iteration)
+    public void placeRobotAtTheStart() throws RobotValidationException {
+        robot = new Robot(route, speed);
+        collector = new RobotPollutionCollector(robot, new RandomParticleReader(new Random(42)));
+    }
+
+    @Benchmark
+    public GeoPoint moveRobot() throws RobotValidationException {
+        if (robot.atTheEndOfJourney()) {
+            placeRobotAtTheStart();
+        }
+        collector.moveRobot();
+        return robot.getCurrentPosition();
+    }
+}
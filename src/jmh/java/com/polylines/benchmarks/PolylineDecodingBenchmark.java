@@ -0,0 +1,47 @@
+package com.polylines.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.google.maps.model.EncodedPolyline;
+import com.polylines.domain.robot.GeoPoint;
+import com.polylines.domain.robot.Route;
+import com.polylines.infraestructure.GeoPointMapper;
+import com.polylines.infraestructure.PolylineDecoder;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolylineDecodingBenchmark {
+
+    @Param({"short", "long"})
+    public String polyline;
+
+    @Benchmark
+    public List<GeoPoint> googleDecoderAndMapper() {
+        return GeoPointMapper.map(new EncodedPolyline(BenchmarkRoutes.polyline(polyline)).decodePath());
+    }
+
+    //Same work as polylineDecoder, which also measures every segment while decoding
+    @Benchmark
+    public Route googleDecoderMapperAndRoute() {
+        return Route.of(googleDecoderAndMapper());
+    }
+
+    @Benchmark
+    public Route polylineDecoder() {
+        return PolylineDecoder.decode(BenchmarkRoutes.polyline(polyline));
+    }
+}
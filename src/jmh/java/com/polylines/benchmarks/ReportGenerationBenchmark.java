@@ -0,0 +1,57 @@
+package com.polylines.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.polylines.application.generatereport.ReportGeneratorService;
+import com.polylines.application.readparticles.RandomParticleReader;
+import com.polylines.domain.reporting.Report;
+import com.polylines.domain.robot.Robot;
+import com.polylines.domain.robot.RobotValidationException;
+import com.polylines.infraestructure.PolylineDecoder;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportGenerationBenchmark {
+
+    @Param({"100", "100000"})
+    public int readings;
+
+    private RandomParticleReader particleReader;
+    private ReportGeneratorService reportGenerator;
+
+    @Setup(Level.Trial)
+    public void setup() throws RobotValidationException {
+        Robot robot = new Robot(PolylineDecoder.decode(BenchmarkRoutes.SHORT_POLYLINE), 2);
+        particleReader = new RandomParticleReader(new Random(42));
+        reportGenerator = new ReportGeneratorService(robot, particleReader, report -> { });
+    }
+
+    //Readings are taken again before every report because generating one clears them
+    @Setup(Level.Invocation)
+    public void readParticles() {
+        for (int i = 0; i < readings; i++) {
+            particleReader.run();
+        }
+    }
+
+    @Benchmark
+    public Report generate() {
+        return reportGenerator.generate();
+    }
+}
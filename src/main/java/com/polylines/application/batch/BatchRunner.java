@@ -0,0 +1,97 @@
+package com.polylines.application.batch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import com.polylines.domain.reporting.ReportPrinter;
+import com.polylines.domain.robot.RobotValidationException;
+import com.polylines.infraestructure.RouteCache;
+
+//Reads one polyline per line and simulates every journey to its end on a fork/join pool. Only a few journeys per
+//worker are read ahead of the pool, so a file of any size runs in constant memory. The robot of line i prints its
+//reports to shard i % shards, which keeps the lock of each output shared by few workers.
+public class BatchRunner {
+
+    private static final int JOURNEYS_AHEAD_PER_WORKER = 4;
+
+    private final JourneySimulator simulator;
+    private final RouteCache routes;
+    private final List<ReportPrinter> shards;
+    private final ForkJoinPool pool;
+    private final AtomicLong submitted;
+    private final AtomicLong completed;
+    private final AtomicLong failed;
+    private final AtomicLong reports;
+
+    public BatchRunner(JourneySimulator simulator, RouteCache routes, List<? extends ReportPrinter> shards,
+                       ForkJoinPool pool) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("The batch needs at least one output shard.");
+        }
+        this.simulator = simulator;
+        this.routes = routes;
+        this.shards = new ArrayList<>(shards);
+        this.pool = pool;
+        this.submitted = new AtomicLong();
+        this.completed = new AtomicLong();
+        this.failed = new AtomicLong();
+        this.reports = new AtomicLong();
+    }
+
+    //Returns once every journey of the file has been simulated; blank lines are skipped
+    public void run(BufferedReader polylines) throws IOException, InterruptedException {
+        int permits = JOURNEYS_AHEAD_PER_WORKER * pool.getParallelism();
+        Semaphore ahead = new Semaphore(permits);
+        int line = 0;
+        try {
+            for (String polyline = polylines.readLine(); polyline != null; polyline = polylines.readLine(), line++) {
+                if (polyline.trim().isEmpty()) {
+                    continue;
+                }
+                ahead.acquire();
+                submitted.incrementAndGet();
+                int robotId = line;
+                String trimmed = polyline.trim();
+                pool.execute(() -> {
+                    try {
+                        simulate(robotId, trimmed);
+                    } finally {
+                        ahead.release();
+                    }
+                });
+            }
+        } finally {
+            ahead.acquireUninterruptibly(permits);
+        }
+    }
+
+    public long getSubmittedJourneys() {
+        return submitted.get();
+    }
+
+    public long getCompletedJourneys() {
+        return completed.get();
+    }
+
+    //Journeys that could not be simulated, mostly because their polyline does not decode into a route
+    public long getFailedJourneys() {
+        return failed.get();
+    }
+
+    public long getReports() {
+        return reports.get();
+    }
+
+    private void simulate(int robotId, String polyline) {
+        try {
+            reports.addAndGet(simulator.simulate(robotId, routes.get(polyline), shards.get(robotId % shards.size())));
+            completed.incrementAndGet();
+        } catch (RobotValidationException | RuntimeException e) {
+            failed.incrementAndGet();
+        }
+    }
+}
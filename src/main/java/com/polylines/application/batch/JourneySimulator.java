@@ -0,0 +1,105 @@
+package com.polylines.application.batch;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import com.polylines.application.generatereport.ReportGeneratorService;
+import com.polylines.application.moverobot.RobotPollutionCollector;
+import com.polylines.application.scheduler.Scheduler;
+import com.polylines.application.scheduler.VirtualClock;
+import com.polylines.application.scheduler.VirtualScheduler;
+import com.polylines.domain.observers.SchedulerObserver;
+import com.polylines.domain.particlesreading.ParticleReader;
+import com.polylines.domain.reporting.ReportPrinter;
+import com.polylines.domain.robot.Robot;
+import com.polylines.domain.robot.RobotValidationException;
+import com.polylines.domain.robot.Route;
+
+//Drives one robot from the start to the end of its route on a virtual clock of its own, so a journey of hours only
+//takes the CPU its ticks need and any number of journeys can be simulated side by side
+public class JourneySimulator {
+
+    private static final long SECONDS_BETWEEN_TICKS = 1;
+    private static final long SECONDS_BETWEEN_REPORTS = TimeUnit.MINUTES.toSeconds(15);
+
+    private final double speed;
+    private final long startEpochMillis;
+    private final IntFunction<ParticleReader> particleReaders;
+    private final Ticking ticking;
+    private final LongAdder wakeups;
+
+    public JourneySimulator(double speed, long startEpochMillis, IntFunction<ParticleReader> particleReaders) {
+        this(speed, startEpochMillis, particleReaders, Ticking.EVERY_SECOND);
+    }
+
+    public JourneySimulator(double speed, long startEpochMillis, IntFunction<ParticleReader> particleReaders,
+                            Ticking ticking) {
+        this.speed = speed;
+        this.startEpochMillis = startEpochMillis;
+        this.particleReaders = particleReaders;
+        this.ticking = ticking;
+        this.wakeups = new LongAdder();
+    }
+
+    //Returns the number of reports printed along the journey
+    public long simulate(int robotId, Route route, ReportPrinter printer) throws RobotValidationException {
+        Robot robot = new Robot(robotId, route, speed);
+        ParticleReader particleReader = particleReaders.apply(robotId);
+        VirtualClock clock = new VirtualClock(startEpochMillis);
+        long[] reports = {0};
+        ReportGeneratorService reportGenerator = new ReportGeneratorService(robot, particleReader, report -> {
+            printer.print(report);
+            reports[0]++;
+        }, clock);
+        RobotPollutionCollector collector = new RobotPollutionCollector(robot, particleReader);
+
+        if (ticking == Ticking.EVENT_DRIVEN) {
+            simulateByEvents(collector, reportGenerator, clock);
+        } else {
+            simulateEverySecond(robot, collector, reportGenerator, clock);
+        }
+        return reports[0];
+    }
+
+    //Times the robot woke up to move, over all the journeys simulated so far
+    public long getWakeups() {
+        return wakeups.sum();
+    }
+
+    private void simulateEverySecond(Robot robot, RobotPollutionCollector collector,
+                                     ReportGeneratorService reportGenerator, VirtualClock clock) {
+        Scheduler robotScheduler = new VirtualScheduler(clock, SECONDS_BETWEEN_TICKS, 0, TimeUnit.SECONDS);
+        Scheduler reportingScheduler =
+                new VirtualScheduler(clock, SECONDS_BETWEEN_REPORTS, SECONDS_BETWEEN_REPORTS, TimeUnit.SECONDS);
+        robot.registerObserver(new SchedulerObserver(robotScheduler));
+        robot.registerObserver(new SchedulerObserver(reportingScheduler));
+        reportingScheduler.addTask(reportGenerator::generate);
+        robotScheduler.addTask(() -> {
+            wakeups.increment();
+            collector.moveRobot();
+        });
+
+        robotScheduler.start();
+        reportingScheduler.start();
+        clock.run();
+    }
+
+    //The same journey, jumping from one eventful tick to the next. Tick n runs at second n - 1 and a report due at
+    //second t goes before the tick running then, so the report sees the robot as it was after tick t; a robot that
+    //arrived by then stopped the reports, just as its observers stop the schedulers above.
+    private void simulateByEvents(RobotPollutionCollector collector, ReportGeneratorService reportGenerator,
+                                  VirtualClock clock) {
+        long ticksBetweenReports = SECONDS_BETWEEN_REPORTS / SECONDS_BETWEEN_TICKS;
+        long nextReportTick = ticksBetweenReports;
+        while (!collector.hasFinished()) {
+            long tick = Math.min(collector.nextEventfulTick(), nextReportTick);
+            wakeups.increment();
+            collector.moveRobotUntil(tick);
+            if (tick == nextReportTick && !collector.hasFinished()) {
+                clock.runFor(tick * SECONDS_BETWEEN_TICKS - clock.elapsed(TimeUnit.SECONDS), TimeUnit.SECONDS);
+                reportGenerator.generate();
+                nextReportTick += ticksBetweenReports;
+            }
+        }
+    }
+}
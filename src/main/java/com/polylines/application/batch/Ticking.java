@@ -0,0 +1,8 @@
+package com.polylines.application.batch;
+
+public enum Ticking {
+    //The robot moves every second, as it does in real time
+    EVERY_SECOND,
+    //The robot only wakes up when it takes a reading, reaches the end or a report is due, skipping the seconds between
+    EVENT_DRIVEN
+}
@@ -0,0 +1,289 @@
+package com.polylines.application.fleet;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import com.polylines.application.generatereport.ReportGeneratorService;
+import com.polylines.application.moverobot.CollectorState;
+import com.polylines.application.moverobot.EventDrivenMover;
+import com.polylines.application.moverobot.RobotPollutionCollector;
+import com.polylines.application.scheduler.Scheduler;
+import com.polylines.application.scheduler.TimingWheel;
+import com.polylines.domain.particlesreading.ParticleReader;
+import com.polylines.domain.particlesreading.ReadingListener;
+import com.polylines.domain.reporting.ReportPrinter;
+import com.polylines.domain.robot.Robot;
+import com.polylines.domain.telemetry.TelemetryPublisher;
+import com.polylines.infraestructure.checkpoint.FleetCheckpointFile;
+import com.polylines.infraestructure.metrics.Counter;
+import com.polylines.infraestructure.metrics.LatencyHistogram;
+import com.polylines.infraestructure.metrics.MetricsRegistry;
+
+public class Fleet {
+
+    private static final long ONE_SECOND_IN_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final List<Member> members;
+    private final ExecutorService workers;
+    private final int parallelism;
+    private final TelemetryPublisher telemetry;
+    private final MetricsRegistry metrics;
+    private final LatencyHistogram tickLatency;
+    private final LatencyHistogram reportLatency;
+    private final Counter reportsGenerated;
+    private final LatencyHistogram checkpointPause;
+    private final Counter wakeups;
+    //Held while reports swap the readings windows, so a checkpoint never copies one halfway through a swap
+    private final Object reportsLock;
+    private volatile long lastTickNanos;
+
+    public Fleet() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public Fleet(int parallelism) {
+        this(parallelism, TelemetryPublisher.NONE);
+    }
+
+    public Fleet(int parallelism, TelemetryPublisher telemetry) {
+        this(parallelism, telemetry, new MetricsRegistry());
+    }
+
+    public Fleet(int parallelism, TelemetryPublisher telemetry, MetricsRegistry metrics) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The fleet needs at least one worker thread.");
+        }
+        this.parallelism = parallelism;
+        this.telemetry = telemetry;
+        this.members = new CopyOnWriteArrayList<>();
+        this.workers = Executors.newFixedThreadPool(parallelism, new WorkerThreadFactory());
+        this.metrics = metrics;
+        this.tickLatency = metrics.histogram("fleet.tick");
+        this.reportLatency = metrics.histogram("report.generate");
+        this.reportsGenerated = metrics.counter("reports.generated");
+        this.checkpointPause = metrics.histogram("fleet.checkpoint.pause");
+        this.wakeups = metrics.counter("fleet.wakeups");
+        this.reportsLock = new Object();
+        metrics.gauge("fleet.size", this::size);
+        metrics.gauge("readings.taken", this::readingsTaken);
+    }
+
+    public RobotPollutionCollector add(Robot robot, ParticleReader particleReader, ReportPrinter printer) {
+        return add(robot, particleReader, printer, ReadingListener.NONE);
+    }
+
+    public RobotPollutionCollector add(Robot robot, ParticleReader particleReader, ReportPrinter printer,
+                                       ReadingListener readingListener) {
+        Member member = new Member(robot.getId(),
+                new RobotPollutionCollector(robot, particleReader, readingListener, telemetry),
+                new ReportGeneratorService(robot, particleReader, printer, Clock.systemUTC(), telemetry));
+        members.add(member);
+        return member.collector;
+    }
+
+    public void tick() {
+        long start = System.nanoTime();
+        forEachMember(member -> member.collector.moveRobot());
+        lastTickNanos = System.nanoTime() - start;
+        tickLatency.record(lastTickNanos);
+        wakeups.add(members.size());
+    }
+
+    //Instead of ticking the fleet: every robot moves on the wheel on its own, woken up only on the ticks where
+    //something happens to it, and reports catch it up to the current second. Call once, when the robots are added.
+    public void startEventDriven(TimingWheel wheel, Scheduler.Task whenAllArrived) {
+        List<Member> current = members;
+        if (current.isEmpty()) {
+            whenAllArrived.perform();
+            return;
+        }
+        AtomicInteger travelling = new AtomicInteger(current.size());
+        for (Member member : current) {
+            member.mover = new EventDrivenMover(member.collector, wheel, wakeups, () -> {
+                if (travelling.decrementAndGet() == 0) {
+                    whenAllArrived.perform();
+                }
+            });
+        }
+        for (Member member : current) {
+            member.mover.start();
+        }
+    }
+
+    public void generateReports() {
+        synchronized (reportsLock) {
+            forEachMember(member -> {
+                long start = System.nanoTime();
+                if (member.mover != null) {
+                    member.mover.catchUp();
+                }
+                member.reportGenerator.generate();
+                reportLatency.recordSince(start);
+                reportsGenerated.increment();
+            });
+        }
+    }
+
+    //Call between two ticks; when the robots are event driven, each state is taken between two of its moves.
+    //Reports only wait while the state is copied, not while it is encoded and written.
+    public int checkpoint(Path file) throws IOException {
+        List<CollectorState> states = new ArrayList<>(members.size());
+        long start = System.nanoTime();
+        synchronized (reportsLock) {
+            for (Member member : members) {
+                states.add(member.collector.getState());
+            }
+        }
+        checkpointPause.recordSince(start);
+        FleetCheckpointFile.write(file, states);
+        return states.size();
+    }
+
+    //Call before the first tick, once the robots are added. Robots are matched by id; those missing from the
+    //checkpoint start their journey from the beginning. Returns the number of robots resumed.
+    public int restore(Path file) throws IOException {
+        Map<Integer, RobotPollutionCollector> collectors = new HashMap<>();
+        for (Member member : members) {
+            collectors.put(member.robotId, member.collector);
+        }
+        int restored = 0;
+        for (CollectorState state : FleetCheckpointFile.read(file)) {
+            RobotPollutionCollector collector = collectors.get(state.getRobotId());
+            if (collector != null) {
+                collector.restore(state);
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    //Times a robot was moved, by a tick or by waking up on its own
+    public long getWakeups() {
+        return wakeups.get();
+    }
+
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    //Robots that could be moved every second at the per-robot cost measured on the last tick
+    public long getSustainableFleetSize() {
+        long tickNanos = lastTickNanos;
+        if (tickNanos == 0) {
+            return 0;
+        }
+        return size() * ONE_SECOND_IN_NANOS / tickNanos;
+    }
+
+    public boolean allRobotsArrived() {
+        for (Member member : members) {
+            if (!member.collector.hasFinished()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //Read from the collectors without synchronization, so it may lag a tick behind while the fleet is moving
+    private long readingsTaken() {
+        long readings = 0;
+        for (Member member : members) {
+            readings += member.collector.getReadingsTaken();
+        }
+        return readings;
+    }
+
+    public void shutdown() {
+        for (Member member : members) {
+            if (member.mover != null) {
+                member.mover.stop();
+            }
+        }
+        workers.shutdown();
+    }
+
+    private void forEachMember(Consumer<Member> action) {
+        List<Member> current = members;
+        int size = current.size();
+        int partitions = Math.min(parallelism, size);
+        if (partitions == 0) {
+            return;
+        }
+        List<Callable<Void>> work = new ArrayList<>(partitions);
+        for (int partition = 0; partition < partitions; partition++) {
+            int from = size * partition / partitions;
+            int to = size * (partition + 1) / partitions;
+            work.add(() -> {
+                for (int i = from; i < to; i++) {
+                    action.accept(current.get(i));
+                }
+                return null;
+            });
+        }
+        awaitAll(work);
+    }
+
+    private void awaitAll(List<Callable<Void>> work) {
+        try {
+            for (Future<Void> result : workers.invokeAll(work)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A robot failed while the fleet was running.", e.getCause());
+        }
+    }
+
+    private static class Member {
+
+        private final int robotId;
+        private final RobotPollutionCollector collector;
+        private final ReportGeneratorService reportGenerator;
+        private volatile EventDrivenMover mover;
+
+        private Member(int robotId, RobotPollutionCollector collector, ReportGeneratorService reportGenerator) {
+            this.robotId = robotId;
+            this.collector = collector;
+            this.reportGenerator = reportGenerator;
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+
+        private int count;
+
+        @Override
+        public synchronized Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "fleet-worker-" + count++);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,52 +1,69 @@
 package com.polylines.application.generatereport;
 
-import java.util.Date;
+import java.time.Clock;
 import com.polylines.domain.particlesreading.ParticleReader;
+import com.polylines.domain.particlesreading.ParticleReadings;
 import com.polylines.domain.reporting.Location;
 import com.polylines.domain.reporting.Report;
 import com.polylines.domain.reporting.ReportPrinter;
+import com.polylines.domain.robot.GeoPoint;
 import com.polylines.domain.robot.Robot;
+import com.polylines.domain.telemetry.TelemetryEventType;
+import com.polylines.domain.telemetry.TelemetryPublisher;
 
 public class ReportGeneratorService {
 
     private final Robot robot;
     private final ParticleReader particleReader;
     private final ReportPrinter printer;
+    private final Clock clock;
+    private final TelemetryPublisher telemetry;
 
     public ReportGeneratorService(Robot robot, ParticleReader particleReader, ReportPrinter printer) {
+        this(robot, particleReader, printer, Clock.systemUTC());
+    }
+
+    public ReportGeneratorService(Robot robot, ParticleReader particleReader, ReportPrinter printer, Clock clock) {
+        this(robot, particleReader, printer, clock, TelemetryPublisher.NONE);
+    }
+
+    public ReportGeneratorService(Robot robot, ParticleReader particleReader, ReportPrinter printer, Clock clock,
+                                  TelemetryPublisher telemetry) {
         this.robot = robot;
         this.particleReader = particleReader;
         this.printer = printer;
+        this.clock = clock;
+        this.telemetry = telemetry;
     }
 
     public Report generate() {
-        Report report = buildReport();
+        Report report = buildReport(particleReader.collectReadings());
         printer.print(report);
-        particleReader.clearPreviousReadings();
+        telemetry.publish(TelemetryEventType.REPORT_EMITTED, robot.getId(), report.getLocation().getLat(),
+                report.getLocation().getLng(), Double.NaN, report.getLevel().ordinal());
         return report;
     }
 
-    private Report buildReport() {
+    private Report buildReport(ParticleReadings readings) {
         return new Report(
                 getCurrentTimestamp(),
                 getRobotLocation(),
-                getLevel(),
-                Robot.SOURCE);
+                getLevel(readings),
+                Robot.SOURCE,
+                robot.getId());
     }
 
     private long getCurrentTimestamp() {
-        return new Date().getTime();
+        return clock.millis();
     }
 
     private Location getRobotLocation() {
-        return new Location(robot.getCurrentPosition().lat, robot.getCurrentPosition().lng);
+        GeoPoint position = robot.getCurrentPosition();
+        return new Location(position.lat, position.lng);
     }
 
-    private Report.Level getLevel() {
-        double average = particleReader.getReadings().stream()
-                .mapToInt(i -> i)
-                .average()
-                .orElse(0);
+    private Report.Level getLevel(ParticleReadings readings) {
+        double average = readings.average();
         if (average <= 50) {
             return Report.Level.Good;
         } else if (average <= 100) {
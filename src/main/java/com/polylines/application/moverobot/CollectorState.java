@@ -0,0 +1,74 @@
+package com.polylines.application.moverobot;
+
+import com.polylines.domain.particlesreading.ParticleReadings;
+
+//Everything a collector needs to resume its robot where it was, even mid-segment, without replaying the journey
+public class CollectorState {
+
+    private final int robotId;
+    private final long ticks;
+    private final double travelledMeters;
+    private final double nextReadingAt;
+    private final int nextPosition;
+    private final long readingsTaken;
+    private final boolean finishPublished;
+    private final double lat;
+    private final double lng;
+    private final ParticleReadings pendingReadings;
+
+    public CollectorState(int robotId, long ticks, double travelledMeters, double nextReadingAt, int nextPosition,
+                          long readingsTaken, boolean finishPublished, double lat, double lng,
+                          ParticleReadings pendingReadings) {
+        this.robotId = robotId;
+        this.ticks = ticks;
+        this.travelledMeters = travelledMeters;
+        this.nextReadingAt = nextReadingAt;
+        this.nextPosition = nextPosition;
+        this.readingsTaken = readingsTaken;
+        this.finishPublished = finishPublished;
+        this.lat = lat;
+        this.lng = lng;
+        this.pendingReadings = pendingReadings;
+    }
+
+    public int getRobotId() {
+        return robotId;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public double getTravelledMeters() {
+        return travelledMeters;
+    }
+
+    public double getNextReadingAt() {
+        return nextReadingAt;
+    }
+
+    public int getNextPosition() {
+        return nextPosition;
+    }
+
+    public long getReadingsTaken() {
+        return readingsTaken;
+    }
+
+    public boolean isFinishPublished() {
+        return finishPublished;
+    }
+
+    public double getLat() {
+        return lat;
+    }
+
+    public double getLng() {
+        return lng;
+    }
+
+    //Readings taken since the last report, which the next report still has to include
+    public ParticleReadings getPendingReadings() {
+        return pendingReadings;
+    }
+}
@@ -0,0 +1,84 @@
+package com.polylines.application.moverobot;
+
+import java.util.concurrent.TimeUnit;
+import com.polylines.application.scheduler.Scheduler;
+import com.polylines.application.scheduler.TimingWheel;
+import com.polylines.infraestructure.metrics.Counter;
+
+//Moves a robot in real time as a 1 Hz scheduler would, but only wakes it up on the ticks where something happens to
+//it, sleeping on the wheel in between. The next tick is due as soon as it starts and the others a second apart, so a
+//robot resumed from a checkpoint goes on from its own tick. Anything that needs the robot where ticking would have it
+//by now, like a report, calls catchUp first.
+public class EventDrivenMover {
+
+    private static final long NANOS_PER_TICK = TimeUnit.SECONDS.toNanos(1);
+
+    private final RobotPollutionCollector collector;
+    private final TimingWheel wheel;
+    private final Counter wakeups;
+    private final Scheduler.Task onArrival;
+    private volatile long originNanos;
+    private volatile boolean started;
+    private volatile boolean stopped;
+    private volatile TimingWheel.TimerHandle nextWakeUp;
+
+    public EventDrivenMover(RobotPollutionCollector collector, TimingWheel wheel) {
+        this(collector, wheel, new Counter(), () -> { });
+    }
+
+    public EventDrivenMover(RobotPollutionCollector collector, TimingWheel wheel, Counter wakeups,
+                            Scheduler.Task onArrival) {
+        this.collector = collector;
+        this.wheel = wheel;
+        this.wakeups = wakeups;
+        this.onArrival = onArrival;
+    }
+
+    public void start() {
+        //Tick n is due n - 1 seconds after the origin, as it is for a scheduler without initial delay
+        originNanos = System.nanoTime() - collector.getTicks() * NANOS_PER_TICK;
+        started = true;
+        wakeUp();
+    }
+
+    public void stop() {
+        stopped = true;
+        TimingWheel.TimerHandle handle = nextWakeUp;
+        if (handle != null) {
+            handle.cancel();
+        }
+    }
+
+    public void catchUp() {
+        if (started) {
+            collector.moveRobotUntil(ticksDue());
+        }
+    }
+
+    public long getWakeups() {
+        return wakeups.get();
+    }
+
+    private void wakeUp() {
+        if (stopped) {
+            return;
+        }
+        wakeups.increment();
+        collector.moveRobotUntil(ticksDue());
+        if (collector.hasFinished()) {
+            onArrival.perform();
+            return;
+        }
+        long tick = collector.nextEventfulTick();
+        if (tick == Long.MAX_VALUE) {
+            //A robot that does not move has nothing left to wake up for
+            return;
+        }
+        long delayNanos = originNanos + (tick - 1) * NANOS_PER_TICK - System.nanoTime();
+        nextWakeUp = wheel.schedule(this::wakeUp, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private long ticksDue() {
+        return (System.nanoTime() - originNanos) / NANOS_PER_TICK + 1;
+    }
+}
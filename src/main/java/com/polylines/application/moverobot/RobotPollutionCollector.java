@@ -1,80 +1,194 @@
 package com.polylines.application.moverobot;
 
+import static com.polylines.domain.robot.GeoPointBuilder.aGeoPoint;
+
 import com.polylines.domain.robot.GeoPoint;
-import com.polylines.domain.robot.GeoPointBuilder;
 import com.polylines.domain.robot.Robot;
+import com.polylines.domain.robot.Route;
 import com.polylines.domain.particlesreading.ParticleReader;
-import com.polylines.infraestructure.DistanceCalculator;
+import com.polylines.domain.particlesreading.ParticleReadings;
+import com.polylines.domain.particlesreading.ReadingListener;
+import com.polylines.domain.telemetry.TelemetryEventType;
+import com.polylines.domain.telemetry.TelemetryPublisher;
 
 public class RobotPollutionCollector {
 
+    private static final double METERS_BETWEEN_READINGS = 100;
+
     private final Robot robot;
+    private final Route route;
     private final ParticleReader particleReader;
+    private final ReadingListener readingListener;
+    private final TelemetryPublisher telemetry;
     private double travelledMeters;
+    private double nextReadingAt;
     private int nextPosition;
+    private long ticks;
+    private boolean finishPublished;
+    private long readingsTaken;
 
     public RobotPollutionCollector(Robot robot, ParticleReader particleReader) {
+        this(robot, particleReader, ReadingListener.NONE);
+    }
+
+    public RobotPollutionCollector(Robot robot, ParticleReader particleReader, ReadingListener readingListener) {
+        this(robot, particleReader, readingListener, TelemetryPublisher.NONE);
+    }
+
+    public RobotPollutionCollector(Robot robot, ParticleReader particleReader, ReadingListener readingListener,
+                                   TelemetryPublisher telemetry) {
         this.robot = robot;
+        this.route = robot.route;
         this.particleReader = particleReader;
+        this.readingListener = readingListener;
+        this.telemetry = telemetry;
         this.travelledMeters = 0;
+        this.nextReadingAt = METERS_BETWEEN_READINGS;
         this.nextPosition = 1;
     }
 
     public void moveRobot() {
-        double metersToMove = robot.getSpeed();
-        GeoPoint to = robot.journey.get(nextPosition);
-
-        while (robotCanMove(metersToMove)) {
-            double distance = DistanceCalculator.calculate(robot.getCurrentPosition(), to);
-            if (distance > metersToMove) {
-                moveToAnIntermediateStop(metersToMove, to);
-                metersToMove = 0;
+        moveRobotUntil(ticks + 1);
+    }
+
+    //Same as moving once per tick up to the given one: the stops and readings in between happen in the same order.
+    //Synchronized, as a report may catch the robot up from another thread while it sleeps until its next event.
+    public synchronized void moveRobotUntil(long tick) {
+        if (tick <= ticks) {
+            return;
+        }
+        ticks = tick;
+        //Derived from the number of ticks rather than accumulated, so it matches Robot.positionAt exactly
+        double destination = ticks * robot.getSpeed();
+
+        while (robotCanMoveUntil(destination)) {
+            double nextStop = route.cumulativeMeters(nextPosition);
+            if (nextStop > destination) {
+                moveToAnIntermediateStop(destination);
             } else {
-                to = moveToNextStopAndRecalculate(to, distance);
-                metersToMove -= distance;
+                moveToNextStop(nextStop);
             }
-            if (shouldReadParticlesLevel()) {
-                readParticlesInTheAirAndReset();
+            while (shouldReadParticlesLevel()) {
+                readParticlesInTheAir();
             }
         }
+        if (!finishPublished && robot.atTheEndOfJourney()) {
+            finishPublished = true;
+            GeoPoint end = robot.getCurrentPosition();
+            telemetry.publish(TelemetryEventType.JOURNEY_FINISHED, robot.getId(), end.lat, end.lng,
+                    travelledMeters, route.size());
+        }
+    }
+
+    //First tick at which something a report or a listener could tell apart happens: a reading, the end of the journey
+    //or, while a lazy route is still being read, the next stop. The ticks before it can be skipped with moveRobotUntil.
+    public synchronized long nextEventfulTick() {
+        if (robot.atTheEndOfJourney() || robot.getSpeed() <= 0) {
+            return Long.MAX_VALUE;
+        }
+        double meters = Math.min(nextReadingAt, route.isComplete()
+                ? route.cumulativeMeters(route.size() - 1)
+                : route.cumulativeMeters(nextPosition));
+        return Math.max(ticks + 1, firstTickReaching(meters));
+    }
+
+    private long firstTickReaching(double meters) {
+        double speed = robot.getSpeed();
+        long tick = (long) Math.ceil(meters / speed);
+        //Division and multiplication may round differently, and moveRobotUntil multiplies
+        while (tick * speed < meters) {
+            tick++;
+        }
+        while (tick > 0 && (tick - 1) * speed >= meters) {
+            tick--;
+        }
+        return tick;
     }
 
-    private boolean robotCanMove(double remainingMeters) {
-        return remainingMeters > 0 && !robot.atTheEndOfJourney();
+    private boolean robotCanMoveUntil(double destination) {
+        return travelledMeters < destination && !robot.atTheEndOfJourney();
     }
 
     private boolean shouldReadParticlesLevel() {
-        return travelledMeters >= 100;
+        return travelledMeters >= nextReadingAt;
     }
 
-    private GeoPoint moveToNextStopAndRecalculate(GeoPoint to, double distance) {
-        robot.setCurrentPosition(robot.journey.get(nextPosition));
+    private void moveToNextStop(double nextStop) {
+        travelledMeters = nextStop;
+        //Reading one point ahead lets the robot know whether this stop is the end of a lazily read route
+        route.readUntil(nextPosition + 1);
+        robot.setCurrentPosition(route.pointAt(nextPosition));
+        telemetry.publish(TelemetryEventType.WAYPOINT_REACHED, robot.getId(),
+                route.lat(nextPosition), route.lng(nextPosition), travelledMeters, nextPosition);
         nextPosition++;
-        travelledMeters += distance;
-        if (!robot.atTheEndOfJourney()) {
-            to = robot.journey.get(nextPosition);
-        }
-        return to;
     }
 
-    private void moveToAnIntermediateStop(double remainingMeters, GeoPoint to) {
-        robot.setCurrentPosition(newGeoPoint(remainingMeters, robot.getCurrentPosition(), to));
-        travelledMeters += remainingMeters;
+    private void moveToAnIntermediateStop(double destination) {
+        travelledMeters = destination;
+        int segment = nextPosition - 1;
+        robot.setCurrentPosition(route.interpolate(segment, destination - route.cumulativeMeters(segment)));
     }
 
-    private void readParticlesInTheAirAndReset() {
-        particleReader.run();
-        travelledMeters = travelledMeters - 100;
+    private void readParticlesInTheAir() {
+        int reading = particleReader.runAt(nextReadingAt);
+        readingsTaken++;
+        if (readingListener != ReadingListener.NONE || telemetry != TelemetryPublisher.NONE) {
+            //Tagged with where the 100 m mark is, not with the stop the robot reached past it in this tick
+            GeoPoint where = route.positionAtDistance(nextReadingAt);
+            readingListener.onReading(where.lat, where.lng, reading);
+            telemetry.publish(TelemetryEventType.READING_TAKEN, robot.getId(), where.lat, where.lng,
+                    nextReadingAt, reading);
+        }
+        nextReadingAt += METERS_BETWEEN_READINGS;
     }
 
-    private GeoPoint newGeoPoint(double meters, GeoPoint from, GeoPoint to) {
-        double radio = meters / DistanceCalculator.calculate(from, to);
-        double newLat = from.lat + (to.lat - from.lat) * radio;
-        double newLng = from.lng + (to.lng - from.lng) * radio;
-        return GeoPointBuilder.aGeoPoint(newLat, newLng);
+    public boolean hasFinished() {
+        return robot.atTheEndOfJourney();
     }
 
     public int getNextPosition() {
         return nextPosition;
     }
+
+    public synchronized long getTicks() {
+        return ticks;
+    }
+
+    public double getTravelledMeters() {
+        return travelledMeters;
+    }
+
+    public long getReadingsTaken() {
+        return readingsTaken;
+    }
+
+    //Only consistent between two moves and while no report swaps the readings
+    public synchronized CollectorState getState() {
+        ParticleReadings pendingReadings = new ParticleReadings();
+        pendingReadings.copyFrom(particleReader.getReadings());
+        GeoPoint position = robot.getCurrentPosition();
+        return new CollectorState(robot.getId(), ticks, travelledMeters, nextReadingAt, nextPosition, readingsTaken,
+                finishPublished, position.lat, position.lng, pendingReadings);
+    }
+
+    //Before the robot starts moving, on the route the state was taken on
+    public synchronized void restore(CollectorState state) {
+        if (state.getRobotId() != robot.getId()) {
+            throw new IllegalArgumentException("The state of robot " + state.getRobotId()
+                    + " cannot be restored on robot " + robot.getId() + ".");
+        }
+        route.readUntil(state.getNextPosition());
+        if (state.getNextPosition() < 1 || state.getNextPosition() > route.size()) {
+            throw new IllegalArgumentException("The state of robot " + state.getRobotId()
+                    + " was taken on a different route.");
+        }
+        ticks = state.getTicks();
+        travelledMeters = state.getTravelledMeters();
+        nextReadingAt = state.getNextReadingAt();
+        nextPosition = state.getNextPosition();
+        readingsTaken = state.getReadingsTaken();
+        finishPublished = state.isFinishPublished();
+        robot.setCurrentPosition(aGeoPoint(state.getLat(), state.getLng()));
+        particleReader.getReadings().copyFrom(state.getPendingReadings());
+    }
 }
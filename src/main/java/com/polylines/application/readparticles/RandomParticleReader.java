@@ -1,37 +1,50 @@
 package com.polylines.application.readparticles;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.IntUnaryOperator;
+import com.polylines.domain.particlesreading.DoubleBufferedReadings;
 import com.polylines.domain.particlesreading.ParticleReader;
+import com.polylines.domain.particlesreading.ParticleReadings;
 
 public class RandomParticleReader implements ParticleReader {
 
-    public final List<Integer> values;
-    private final Random random;
+    private final DoubleBufferedReadings readings;
+    private final IntUnaryOperator random;
     private static final int UPPER_BOUND = 200;
 
+    //A Random shared by several readers makes them contend on its seed; see SeededParticleReaders
     public RandomParticleReader(Random random) {
+        this(random::nextInt);
+    }
+
+    public RandomParticleReader(SplittableRandom random) {
+        this(random::nextInt);
+    }
+
+    private RandomParticleReader(IntUnaryOperator random) {
         this.random = random;
-        values = new ArrayList<>();
+        readings = new DoubleBufferedReadings();
     }
 
     @Override
-    public void run() {
-        values.add(generateRandomInt());
+    public int run() {
+        int reading = generateRandomInt();
+        readings.record(reading);
+        return reading;
     }
 
     @Override
-    public void clearPreviousReadings() {
-        values.clear();
+    public ParticleReadings collectReadings() {
+        return readings.swap();
     }
 
     @Override
-    public List<Integer> getReadings() {
-        return values;
+    public ParticleReadings getReadings() {
+        return readings.current();
     }
 
     private int generateRandomInt() {
-        return random.nextInt(UPPER_BOUND);
+        return random.applyAsInt(UPPER_BOUND);
     }
 }
@@ -0,0 +1,96 @@
+package com.polylines.application.readparticles;
+
+import com.polylines.domain.particlesreading.DoubleBufferedReadings;
+import com.polylines.domain.particlesreading.ParticleReader;
+import com.polylines.domain.particlesreading.ParticleReadings;
+import com.polylines.infraestructure.particletrace.ParticleTrace;
+
+//Replays a recorded trace: the reading at a travelled distance is interpolated between the samples around it.
+//Robots only move forward, so a cursor gallops ahead from the previous lookup instead of searching the whole trace.
+public class ReplayParticleReader implements ParticleReader {
+
+    private final ParticleTrace trace;
+    private final DoubleBufferedReadings readings;
+    private final long lastSample;
+    //Last sample at or before the distance of the previous lookup
+    private long cursor;
+    private long nextReplayed;
+
+    public ReplayParticleReader(ParticleTrace trace) {
+        if (trace.size() == 0) {
+            throw new IllegalArgumentException("The particle trace has no samples.");
+        }
+        this.trace = trace;
+        this.readings = new DoubleBufferedReadings();
+        this.lastSample = trace.size() - 1;
+    }
+
+    //Without a distance the samples are replayed one after the other, the last one over and over at the end
+    @Override
+    public int run() {
+        return record(Math.round(trace.valueAt(Math.min(nextReplayed++, lastSample))));
+    }
+
+    @Override
+    public int runAt(double travelledMeters) {
+        return record(levelAt(travelledMeters));
+    }
+
+    @Override
+    public ParticleReadings collectReadings() {
+        return readings.swap();
+    }
+
+    @Override
+    public ParticleReadings getReadings() {
+        return readings.current();
+    }
+
+    private int record(int reading) {
+        readings.record(reading);
+        return reading;
+    }
+
+    private int levelAt(double meters) {
+        if (meters < trace.metersAt(cursor)) {
+            //Behind the cursor, which only happens before the first sample or when readings go back
+            cursor = lastSampleAtOrBefore(meters, 0, cursor);
+        } else {
+            advanceTo(meters);
+        }
+        double before = trace.metersAt(cursor);
+        if (cursor == lastSample || meters <= before) {
+            return Math.round(trace.valueAt(cursor));
+        }
+        double after = trace.metersAt(cursor + 1);
+        float from = trace.valueAt(cursor);
+        float to = trace.valueAt(cursor + 1);
+        return (int) Math.round(from + (to - from) * (meters - before) / (after - before));
+    }
+
+    //Doubles its step while the samples are still behind, then searches the last step
+    private void advanceTo(double meters) {
+        long step = 1;
+        long reached = cursor;
+        while (reached + step <= lastSample && trace.metersAt(reached + step) <= meters) {
+            reached += step;
+            step <<= 1;
+        }
+        cursor = lastSampleAtOrBefore(meters, reached, Math.min(reached + step, lastSample + 1));
+    }
+
+    //Among the samples [from, to), the last one at or before the meters, or from if there is none
+    private long lastSampleAtOrBefore(double meters, long from, long to) {
+        long low = from;
+        long high = to - 1;
+        while (low < high) {
+            long middle = (low + high + 1) >>> 1;
+            if (trace.metersAt(middle) <= meters) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,36 @@
+package com.polylines.application.readparticles;
+
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+import com.polylines.domain.particlesreading.ParticleReader;
+
+//Gives every robot a random stream of its own, seeded from the fleet seed and the robot id. Readers share no state, so
+//robots moved on many threads never contend, and the same fleet seed reads the same levels for every robot whatever
+//the order or the thread the readers are created on.
+public class SeededParticleReaders implements IntFunction<ParticleReader> {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long fleetSeed;
+
+    public SeededParticleReaders(long fleetSeed) {
+        this.fleetSeed = fleetSeed;
+    }
+
+    @Override
+    public RandomParticleReader apply(int robotId) {
+        return new RandomParticleReader(new SplittableRandom(robotSeed(robotId)));
+    }
+
+    public long getFleetSeed() {
+        return fleetSeed;
+    }
+
+    //SplitMix64 of the robot's position in the fleet's sequence, so neighbouring ids get unrelated seeds
+    private long robotSeed(int robotId) {
+        long seed = fleetSeed + (robotId + 1L) * GOLDEN_GAMMA;
+        seed = (seed ^ (seed >>> 30)) * 0xbf58476d1ce4e5b9L;
+        seed = (seed ^ (seed >>> 27)) * 0x94d049bb133111ebL;
+        return seed ^ (seed >>> 31);
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import com.polylines.infraestructure.metrics.LatencyHistogram;
 
 public class RealScheduler implements Scheduler {
 
@@ -13,13 +14,21 @@ public class RealScheduler implements Scheduler {
     private final TimeUnit periodTimeUnit;
     private final List<Task> tasks;
     private final ScheduledExecutorService scheduler;
+    private final LatencyHistogram lateness;
+    private long firstRunNanos;
+    private long executions;
 
     public RealScheduler(long period, long initialDelay, TimeUnit periodTimeUnit) {
+        this(period, initialDelay, periodTimeUnit, new LatencyHistogram());
+    }
+
+    public RealScheduler(long period, long initialDelay, TimeUnit periodTimeUnit, LatencyHistogram lateness) {
         this.period = period;
         this.initialDelay = initialDelay;
         this.periodTimeUnit = periodTimeUnit;
         this.tasks = new ArrayList<>();
         this.scheduler =  Executors.newSingleThreadScheduledExecutor();
+        this.lateness = lateness;
     }
 
     @Override
@@ -29,6 +38,7 @@ public class RealScheduler implements Scheduler {
 
     @Override
     public void start() {
+        firstRunNanos = System.nanoTime() + periodTimeUnit.toNanos(initialDelay);
         scheduler.scheduleAtFixedRate(this::performTask, initialDelay, period, periodTimeUnit);
     }
     @Override
@@ -36,7 +46,14 @@ public class RealScheduler implements Scheduler {
         scheduler.shutdown();
     }
 
+    //How long after its fixed-rate due time each execution started
+    public LatencyHistogram getLateness() {
+        return lateness;
+    }
+
     private void performTask() {
+        lateness.recordSince(firstRunNanos + executions * periodTimeUnit.toNanos(period));
+        executions++;
         tasks.forEach(Task::perform);
     }
 }
\ No newline at end of file
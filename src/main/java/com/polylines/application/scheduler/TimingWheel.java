@@ -0,0 +1,331 @@
+package com.polylines.application.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import com.polylines.infraestructure.metrics.LatencyHistogram;
+
+//Hashed timing wheel: one thread advances a ring of buckets every tick and hands due tasks to a fixed worker pool,
+//so any number of periodic and one-shot tasks share a few threads. Adding and cancelling a task is O(1); each tick
+//only looks at the tasks of one bucket, those due within this turn of the wheel or a later one.
+public class TimingWheel {
+
+    private static final long DEFAULT_TICK_MILLIS = 10;
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final long ONE_SHOT = 0;
+
+    private final long tickNanos;
+    private final Bucket[] buckets;
+    private final int mask;
+    private final long startNanos;
+    private final Queue<Timer> added;
+    private final Queue<Timer> cancelled;
+    private final ExecutorService workers;
+    private final Thread wheelThread;
+    private final AtomicInteger activeTimers;
+    private final AtomicLong failedRuns;
+    private final LatencyHistogram lateness;
+    private volatile boolean shutdown;
+    private long currentTick;
+
+    public TimingWheel(int workerThreads) {
+        this(workerThreads, new LatencyHistogram());
+    }
+
+    public TimingWheel(int workerThreads, LatencyHistogram lateness) {
+        this(workerThreads, DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_WHEEL_SIZE, lateness);
+    }
+
+    public TimingWheel(int workerThreads, long tickDuration, TimeUnit unit, int wheelSize) {
+        this(workerThreads, tickDuration, unit, wheelSize, new LatencyHistogram());
+    }
+
+    public TimingWheel(int workerThreads, long tickDuration, TimeUnit unit, int wheelSize, LatencyHistogram lateness) {
+        if (workerThreads < 1) {
+            throw new IllegalArgumentException("The timing wheel needs at least one worker thread.");
+        }
+        if (tickDuration <= 0 || wheelSize < 1) {
+            throw new IllegalArgumentException("The timing wheel needs a positive tick and at least one bucket.");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        //A power of two, so the bucket of a tick is a mask away
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.buckets = new Bucket[size];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.mask = buckets.length - 1;
+        this.added = new ConcurrentLinkedQueue<>();
+        this.cancelled = new ConcurrentLinkedQueue<>();
+        this.workers = Executors.newFixedThreadPool(workerThreads, new DaemonThreadFactory("timing-wheel-worker-"));
+        this.activeTimers = new AtomicInteger();
+        this.failedRuns = new AtomicLong();
+        this.lateness = lateness;
+        this.startNanos = System.nanoTime();
+        this.wheelThread = new Thread(this::turn, "timing-wheel");
+        wheelThread.setDaemon(true);
+        wheelThread.start();
+    }
+
+    //Runs the task after the initial delay and then every period, at a fixed rate. Runs of one task never overlap:
+    //when a run is late the missed ones follow it back to back, as with ScheduledExecutorService.scheduleAtFixedRate.
+    public TimerHandle schedule(Scheduler.Task task, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("The period should be positive.");
+        }
+        //A period shorter than a tick could never be honoured, so it is rounded up to one
+        return add(task, initialDelay, unit, Math.max(unit.toNanos(period), tickNanos));
+    }
+
+    //Runs the task once, after the delay. The timer stops counting as active once it has run.
+    public TimerHandle schedule(Scheduler.Task task, long delay, TimeUnit unit) {
+        return add(task, delay, unit, ONE_SHOT);
+    }
+
+    private TimerHandle add(Scheduler.Task task, long delay, TimeUnit unit, long periodNanos) {
+        if (shutdown) {
+            throw new IllegalStateException("The timing wheel is shut down.");
+        }
+        long deadline = System.nanoTime() - startNanos + unit.toNanos(Math.max(delay, 0));
+        Timer timer = new Timer(task, deadline, periodNanos);
+        activeTimers.incrementAndGet();
+        added.add(timer);
+        return timer;
+    }
+
+    public int getActiveTimers() {
+        return activeTimers.get();
+    }
+
+    public long getFailedRuns() {
+        return failedRuns.get();
+    }
+
+    //How long after its due time each run started, including the tick granularity and waiting for a worker
+    public LatencyHistogram getLateness() {
+        return lateness;
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        wheelThread.interrupt();
+        workers.shutdown();
+    }
+
+    private void turn() {
+        List<Timer> rescheduled = new ArrayList<>();
+        while (!shutdown) {
+            if (!waitForTick(currentTick)) {
+                return;
+            }
+            removeCancelled();
+            placeAdded();
+            Bucket bucket = buckets[(int) (currentTick & mask)];
+            for (Timer timer = bucket.head; timer != null; ) {
+                Timer next = timer.next;
+                if (timer.remainingRounds <= 0) {
+                    bucket.remove(timer);
+                    dispatch(timer);
+                    if (timer.periodNanos != ONE_SHOT) {
+                        timer.deadlineNanos += timer.periodNanos;
+                        rescheduled.add(timer);
+                    }
+                } else {
+                    timer.remainingRounds--;
+                }
+                timer = next;
+            }
+            //Placed once this tick is over, so a timer due again within it runs on the next tick instead
+            currentTick++;
+            for (Timer timer : rescheduled) {
+                place(timer);
+            }
+            rescheduled.clear();
+        }
+    }
+
+    private boolean waitForTick(long tick) {
+        long deadline = (tick + 1) * tickNanos;
+        long waitNanos = deadline - (System.nanoTime() - startNanos);
+        if (waitNanos <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void placeAdded() {
+        for (Timer timer = added.poll(); timer != null; timer = added.poll()) {
+            if (!timer.isCancelled()) {
+                place(timer);
+            }
+        }
+    }
+
+    private void removeCancelled() {
+        for (Timer timer = cancelled.poll(); timer != null; timer = cancelled.poll()) {
+            if (timer.bucket != null) {
+                timer.bucket.remove(timer);
+            }
+        }
+    }
+
+    private void place(Timer timer) {
+        if (timer.isCancelled()) {
+            return;
+        }
+        long dueTick = Math.max(timer.deadlineNanos / tickNanos, currentTick);
+        timer.remainingRounds = (dueTick - currentTick) / buckets.length;
+        buckets[(int) (dueTick & mask)].add(timer);
+    }
+
+    private void dispatch(Timer timer) {
+        //Only the first pending run submits the timer; the worker running it performs any run that falls due meanwhile
+        if (timer.pendingRuns.getAndIncrement() == 0) {
+            try {
+                workers.execute(timer);
+            } catch (RejectedExecutionException e) {
+                //Shut down between two ticks
+                timer.pendingRuns.set(0);
+            }
+        }
+    }
+
+    public interface TimerHandle {
+
+        void cancel();
+
+        boolean isCancelled();
+    }
+
+    private class Timer implements TimerHandle, Runnable {
+
+        private final Scheduler.Task task;
+        private final long periodNanos;
+        private final AtomicInteger pendingRuns;
+        private final AtomicBoolean cancelledFlag;
+        private final long firstDeadlineNanos;
+        //Only touched by the worker running the timer, and runs never overlap
+        private long runs;
+        //Owned by the wheel thread
+        private long deadlineNanos;
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timer previous;
+        private Timer next;
+
+        private Timer(Scheduler.Task task, long deadlineNanos, long periodNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+            this.firstDeadlineNanos = deadlineNanos;
+            this.periodNanos = periodNanos;
+            this.pendingRuns = new AtomicInteger();
+            this.cancelledFlag = new AtomicBoolean();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelledFlag.compareAndSet(false, true)) {
+                activeTimers.decrementAndGet();
+                cancelled.add(this);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelledFlag.get();
+        }
+
+        @Override
+        public void run() {
+            do {
+                if (cancelledFlag.get()) {
+                    pendingRuns.set(0);
+                    return;
+                }
+                lateness.record(System.nanoTime() - startNanos - (firstDeadlineNanos + runs * periodNanos));
+                runs++;
+                try {
+                    task.perform();
+                } catch (RuntimeException e) {
+                    failedRuns.incrementAndGet();
+                }
+                if (periodNanos == ONE_SHOT && cancelledFlag.compareAndSet(false, true)) {
+                    activeTimers.decrementAndGet();
+                }
+            } while (pendingRuns.decrementAndGet() > 0);
+        }
+    }
+
+    //Doubly linked list of the timers due in one slot of the wheel, only touched by the wheel thread
+    private static class Bucket {
+
+        private Timer head;
+        private Timer tail;
+
+        private void add(Timer timer) {
+            timer.bucket = this;
+            timer.previous = tail;
+            timer.next = null;
+            if (tail == null) {
+                head = timer;
+            } else {
+                tail.next = timer;
+            }
+            tail = timer;
+        }
+
+        private void remove(Timer timer) {
+            if (timer.bucket != this) {
+                return;
+            }
+            if (timer.previous == null) {
+                head = timer.next;
+            } else {
+                timer.previous.next = timer.next;
+            }
+            if (timer.next == null) {
+                tail = timer.previous;
+            } else {
+                timer.next.previous = timer.previous;
+            }
+            timer.previous = null;
+            timer.next = null;
+            timer.bucket = null;
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private DaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
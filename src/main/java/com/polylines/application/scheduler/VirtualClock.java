@@ -0,0 +1,140 @@
+package com.polylines.application.scheduler;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+//Runs the tasks of its VirtualSchedulers in due order, jumping from one due time to the next instead of waiting
+public class VirtualClock extends Clock {
+
+    private final long startEpochMillis;
+    private final ZoneId zone;
+    private final PriorityQueue<DueExecution> dueExecutions;
+    private long nowNanos;
+    private long sequence;
+
+    public VirtualClock() {
+        this(0);
+    }
+
+    public VirtualClock(long startEpochMillis) {
+        this(startEpochMillis, ZoneOffset.UTC);
+    }
+
+    private VirtualClock(long startEpochMillis, ZoneId zone) {
+        this.startEpochMillis = startEpochMillis;
+        this.zone = zone;
+        this.dueExecutions = new PriorityQueue<>();
+    }
+
+    public void run() {
+        while (!dueExecutions.isEmpty()) {
+            performNext();
+        }
+    }
+
+    public void runFor(long duration, TimeUnit unit) {
+        long until = nowNanos + unit.toNanos(duration);
+        while (!dueExecutions.isEmpty() && dueExecutions.peek().atNanos <= until) {
+            performNext();
+        }
+        nowNanos = until;
+    }
+
+    public long elapsed(TimeUnit unit) {
+        return unit.convert(nowNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public boolean hasPendingTasks() {
+        return !dueExecutions.isEmpty();
+    }
+
+    @Override
+    public long millis() {
+        return startEpochMillis + TimeUnit.NANOSECONDS.toMillis(nowNanos);
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(startEpochMillis).plusNanos(nowNanos);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    //The view reads the time of this clock, so it moves as this clock runs its tasks
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(this.zone) ? this : new ZonedView(this, zone);
+    }
+
+    void schedule(VirtualScheduler scheduler, long generation, long delayNanos) {
+        dueExecutions.add(new DueExecution(nowNanos + delayNanos, sequence++, scheduler, generation));
+    }
+
+    private void performNext() {
+        DueExecution next = dueExecutions.poll();
+        if (!next.scheduler.isScheduled(next.generation)) {
+            return;
+        }
+        nowNanos = next.atNanos;
+        next.scheduler.fire(next.generation);
+    }
+
+    private static class DueExecution implements Comparable<DueExecution> {
+
+        private final long atNanos;
+        private final long sequence;
+        private final VirtualScheduler scheduler;
+        private final long generation;
+
+        private DueExecution(long atNanos, long sequence, VirtualScheduler scheduler, long generation) {
+            this.atNanos = atNanos;
+            this.sequence = sequence;
+            this.scheduler = scheduler;
+            this.generation = generation;
+        }
+
+        @Override
+        public int compareTo(DueExecution other) {
+            int byTime = Long.compare(atNanos, other.atNanos);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static class ZonedView extends Clock {
+
+        private final VirtualClock clock;
+        private final ZoneId zone;
+
+        private ZonedView(VirtualClock clock, ZoneId zone) {
+            this.clock = clock;
+            this.zone = zone;
+        }
+
+        @Override
+        public long millis() {
+            return clock.millis();
+        }
+
+        @Override
+        public Instant instant() {
+            return clock.instant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return clock.withZone(zone);
+        }
+    }
+}
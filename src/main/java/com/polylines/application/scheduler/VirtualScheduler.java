@@ -0,0 +1,53 @@
+package com.polylines.application.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class VirtualScheduler implements Scheduler {
+
+    private final VirtualClock clock;
+    private final long periodNanos;
+    private final long initialDelayNanos;
+    private final List<Task> tasks;
+    private boolean running;
+    private long generation;
+
+    public VirtualScheduler(VirtualClock clock, long period, long initialDelay, TimeUnit periodTimeUnit) {
+        this.clock = clock;
+        this.periodNanos = periodTimeUnit.toNanos(period);
+        this.initialDelayNanos = periodTimeUnit.toNanos(initialDelay);
+        this.tasks = new ArrayList<>();
+    }
+
+    @Override
+    public void addTask(Task task) {
+        tasks.add(task);
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        generation++;
+        clock.schedule(this, generation, initialDelayNanos);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    boolean isScheduled(long scheduledGeneration) {
+        return running && scheduledGeneration == generation;
+    }
+
+    void fire(long scheduledGeneration) {
+        tasks.forEach(Task::perform);
+        if (isScheduled(scheduledGeneration)) {
+            clock.schedule(this, generation, periodNanos);
+        }
+    }
+}
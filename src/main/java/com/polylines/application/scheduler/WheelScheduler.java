@@ -0,0 +1,48 @@
+package com.polylines.application.scheduler;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+//A Scheduler whose tasks run on a shared TimingWheel; stopping it cancels its timer and leaves the wheel running
+public class WheelScheduler implements Scheduler {
+
+    private final TimingWheel wheel;
+    private final long period;
+    private final long initialDelay;
+    private final TimeUnit periodTimeUnit;
+    private final List<Task> tasks;
+    private TimingWheel.TimerHandle handle;
+
+    public WheelScheduler(TimingWheel wheel, long period, long initialDelay, TimeUnit periodTimeUnit) {
+        this.wheel = wheel;
+        this.period = period;
+        this.initialDelay = initialDelay;
+        this.periodTimeUnit = periodTimeUnit;
+        this.tasks = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public void addTask(Task task) {
+        tasks.add(task);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (handle != null && !handle.isCancelled()) {
+            return;
+        }
+        handle = wheel.schedule(this::performTasks, initialDelay, period, periodTimeUnit);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (handle != null) {
+            handle.cancel();
+        }
+    }
+
+    private void performTasks() {
+        tasks.forEach(Task::perform);
+    }
+}
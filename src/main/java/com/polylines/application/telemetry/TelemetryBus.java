@@ -0,0 +1,180 @@
+package com.polylines.application.telemetry;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import com.polylines.domain.telemetry.TelemetryEventType;
+import com.polylines.domain.telemetry.TelemetryPublisher;
+
+//Every publishing thread gets its own single-producer ring, so publishing is a few ordered stores with no locks or
+//compare-and-swap, whatever the number of subscribers. Each subscriber polls all the rings on a thread of its own.
+public class TelemetryBus implements TelemetryPublisher, Closeable {
+
+    private static final int DEFAULT_RING_CAPACITY = 4096;
+    private static final int MAX_BATCH = 256;
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int ringCapacity;
+    private final List<TelemetryRing> rings;
+    private final ThreadLocal<TelemetryRing> threadRing;
+    private final List<Subscription> subscriptions;
+    private final AtomicInteger subscriberNumber;
+
+    public TelemetryBus() {
+        this(DEFAULT_RING_CAPACITY);
+    }
+
+    public TelemetryBus(int ringCapacity) {
+        if (Integer.bitCount(ringCapacity) != 1) {
+            throw new IllegalArgumentException("The ring capacity should be a power of two.");
+        }
+        this.ringCapacity = ringCapacity;
+        this.rings = new CopyOnWriteArrayList<>();
+        this.threadRing = ThreadLocal.withInitial(this::newRing);
+        this.subscriptions = new CopyOnWriteArrayList<>();
+        this.subscriberNumber = new AtomicInteger();
+    }
+
+    @Override
+    public void publish(TelemetryEventType type, int robotId, double lat, double lng, double meters, long value) {
+        threadRing.get().publish(type, robotId, lat, lng, meters, value);
+    }
+
+    //The subscriber receives the events published from now on, on a new daemon thread
+    public Subscription subscribe(TelemetrySubscriber subscriber) {
+        Subscription subscription = new Subscription(subscriber);
+        subscriptions.add(subscription);
+        subscription.thread.start();
+        return subscription;
+    }
+
+    //Delivers what is already published to every subscriber and stops them
+    @Override
+    public void close() {
+        subscriptions.forEach(Subscription::cancel);
+    }
+
+    private TelemetryRing newRing() {
+        TelemetryRing ring = new TelemetryRing(ringCapacity);
+        rings.add(ring);
+        return ring;
+    }
+
+    public class Subscription {
+
+        private final TelemetrySubscriber subscriber;
+        private final Thread thread;
+        private final TelemetryEvent event;
+        private final AtomicLong received;
+        private final AtomicLong lost;
+        private final AtomicLong failed;
+        private TelemetryRing[] known;
+        private long[] cursors;
+        private volatile boolean cancelled;
+
+        private Subscription(TelemetrySubscriber subscriber) {
+            this.subscriber = subscriber;
+            this.event = new TelemetryEvent();
+            this.received = new AtomicLong();
+            this.lost = new AtomicLong();
+            this.failed = new AtomicLong();
+            this.known = rings.toArray(new TelemetryRing[0]);
+            this.cursors = new long[known.length];
+            for (int i = 0; i < known.length; i++) {
+                cursors[i] = known[i].published();
+            }
+            this.thread = new Thread(this::poll, "telemetry-subscriber-" + subscriberNumber.getAndIncrement());
+            thread.setDaemon(true);
+        }
+
+        public long getReceivedEvents() {
+            return received.get();
+        }
+
+        //Events overwritten before this subscriber could read them
+        public long getLostEvents() {
+            return lost.get();
+        }
+
+        public long getFailedEvents() {
+            return failed.get();
+        }
+
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            if (Thread.currentThread() != thread) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void poll() {
+            while (!cancelled) {
+                if (drainAll() == 0) {
+                    LockSupport.parkNanos(IDLE_NANOS);
+                }
+            }
+            //Whatever was published before cancelling is still delivered
+            int delivered;
+            do {
+                delivered = drainAll();
+            } while (delivered > 0);
+        }
+
+        private int drainAll() {
+            if (known.length != rings.size()) {
+                discoverRings();
+            }
+            int delivered = 0;
+            for (int i = 0; i < known.length; i++) {
+                delivered += drain(i);
+            }
+            return delivered;
+        }
+
+        private int drain(int ringIndex) {
+            TelemetryRing ring = known[ringIndex];
+            long cursor = cursors[ringIndex];
+            int delivered = 0;
+            while (delivered < MAX_BATCH) {
+                int status = ring.read(cursor, event);
+                if (status == TelemetryRing.NOT_PUBLISHED) {
+                    break;
+                }
+                if (status == TelemetryRing.OVERWRITTEN) {
+                    //Lapped by the producer: resume from the oldest event that can still be intact
+                    long oldest = Math.max(cursor + 1, ring.published() - ring.capacity() + 1);
+                    lost.addAndGet(oldest - cursor);
+                    cursor = oldest;
+                    continue;
+                }
+                try {
+                    subscriber.onEvent(event);
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                }
+                received.incrementAndGet();
+                cursor++;
+                delivered++;
+            }
+            cursors[ringIndex] = cursor;
+            return delivered;
+        }
+
+        //Rings only ever get added, so the new ones are at the end and are read from their first event
+        private void discoverRings() {
+            TelemetryRing[] current = rings.toArray(new TelemetryRing[0]);
+            cursors = Arrays.copyOf(cursors, current.length);
+            known = current;
+        }
+    }
+}
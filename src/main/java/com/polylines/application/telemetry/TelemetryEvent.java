@@ -0,0 +1,47 @@
+package com.polylines.application.telemetry;
+
+import com.polylines.domain.telemetry.TelemetryEventType;
+
+//Reused by each subscription for every event it delivers, so subscribers must copy what they want to keep
+public class TelemetryEvent {
+
+    private TelemetryEventType type;
+    private int robotId;
+    private double lat;
+    private double lng;
+    private double meters;
+    private long value;
+
+    void set(TelemetryEventType type, int robotId, double lat, double lng, double meters, long value) {
+        this.type = type;
+        this.robotId = robotId;
+        this.lat = lat;
+        this.lng = lng;
+        this.meters = meters;
+        this.value = value;
+    }
+
+    public TelemetryEventType getType() {
+        return type;
+    }
+
+    public int getRobotId() {
+        return robotId;
+    }
+
+    public double getLat() {
+        return lat;
+    }
+
+    public double getLng() {
+        return lng;
+    }
+
+    public double getMeters() {
+        return meters;
+    }
+
+    public long getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,76 @@
+package com.polylines.application.telemetry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import com.polylines.domain.telemetry.TelemetryEventType;
+
+//Preallocated ring written by a single thread and read by any number of subscribers. The producer never waits:
+//it overwrites the oldest events, and a subscriber that falls a whole ring behind skips ahead and counts the loss.
+//Each slot is guarded by a sequence word, odd while the producer writes it and even once the event is complete.
+class TelemetryRing {
+
+    static final int READ = 0;
+    static final int NOT_PUBLISHED = 1;
+    static final int OVERWRITTEN = 2;
+
+    //Sequence, type, robot id, lat, lng, meters, value and one word of padding: a cache line per slot
+    private static final int SLOT_LONGS = 8;
+    private static final TelemetryEventType[] TYPES = TelemetryEventType.values();
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final AtomicLong published;
+    //Only touched by the producing thread
+    private long next;
+
+    //The capacity is a power of two
+    TelemetryRing(int capacity) {
+        this.slots = new AtomicLongArray(capacity * SLOT_LONGS);
+        this.mask = capacity - 1;
+        this.published = new AtomicLong();
+    }
+
+    //Ordered stores only: each one is kept after the previous ones without the cost of a full fence
+    void publish(TelemetryEventType type, int robotId, double lat, double lng, double meters, long value) {
+        long sequence = next++;
+        int base = (int) (sequence & mask) * SLOT_LONGS;
+        slots.lazySet(base, 2 * sequence + 1);
+        slots.lazySet(base + 1, type.ordinal());
+        slots.lazySet(base + 2, robotId);
+        slots.lazySet(base + 3, Double.doubleToRawLongBits(lat));
+        slots.lazySet(base + 4, Double.doubleToRawLongBits(lng));
+        slots.lazySet(base + 5, Double.doubleToRawLongBits(meters));
+        slots.lazySet(base + 6, value);
+        slots.lazySet(base, 2 * sequence + 2);
+        published.lazySet(sequence + 1);
+    }
+
+    int read(long sequence, TelemetryEvent event) {
+        int base = (int) (sequence & mask) * SLOT_LONGS;
+        long complete = 2 * sequence + 2;
+        long before = slots.get(base);
+        if (before < complete) {
+            return NOT_PUBLISHED;
+        }
+        if (before > complete) {
+            return OVERWRITTEN;
+        }
+        event.set(
+                TYPES[(int) slots.get(base + 1)],
+                (int) slots.get(base + 2),
+                Double.longBitsToDouble(slots.get(base + 3)),
+                Double.longBitsToDouble(slots.get(base + 4)),
+                Double.longBitsToDouble(slots.get(base + 5)),
+                slots.get(base + 6));
+        //Overwritten while it was being read if the sequence word moved on
+        return slots.get(base) == complete ? READ : OVERWRITTEN;
+    }
+
+    long published() {
+        return published.get();
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,7 @@
+package com.polylines.application.telemetry;
+
+@FunctionalInterface
+public interface TelemetrySubscriber {
+
+    void onEvent(TelemetryEvent event);
+}
@@ -0,0 +1,89 @@
+package com.polylines.domain.heatmap;
+
+import com.polylines.domain.robot.GeoPoint;
+
+//Geohashes kept as 5 bits per character in a long, longitude first, so tiles are keyed without building strings
+public class Geohash {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private Geohash() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static long encode(double lat, double lng, int precision) {
+        checkPrecision(precision);
+        double minLat = -90;
+        double maxLat = 90;
+        double minLng = -180;
+        double maxLng = 180;
+        long hash = 0;
+        for (int bit = 0; bit < precision * 5; bit++) {
+            hash <<= 1;
+            if (bit % 2 == 0) {
+                double middle = (minLng + maxLng) / 2;
+                if (lng >= middle) {
+                    hash |= 1;
+                    minLng = middle;
+                } else {
+                    maxLng = middle;
+                }
+            } else {
+                double middle = (minLat + maxLat) / 2;
+                if (lat >= middle) {
+                    hash |= 1;
+                    minLat = middle;
+                } else {
+                    maxLat = middle;
+                }
+            }
+        }
+        return hash;
+    }
+
+    public static GeoPoint center(long hash, int precision) {
+        checkPrecision(precision);
+        double minLat = -90;
+        double maxLat = 90;
+        double minLng = -180;
+        double maxLng = 180;
+        int bits = precision * 5;
+        for (int bit = 0; bit < bits; bit++) {
+            boolean set = (hash >>> (bits - 1 - bit) & 1) != 0;
+            if (bit % 2 == 0) {
+                double middle = (minLng + maxLng) / 2;
+                if (set) {
+                    minLng = middle;
+                } else {
+                    maxLng = middle;
+                }
+            } else {
+                double middle = (minLat + maxLat) / 2;
+                if (set) {
+                    minLat = middle;
+                } else {
+                    maxLat = middle;
+                }
+            }
+        }
+        return new GeoPoint((minLat + maxLat) / 2, (minLng + maxLng) / 2);
+    }
+
+    public static String toString(long hash, int precision) {
+        checkPrecision(precision);
+        char[] chars = new char[precision];
+        for (int i = precision - 1; i >= 0; i--) {
+            chars[i] = BASE32[(int) (hash & 0x1f)];
+            hash >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    static void checkPrecision(int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("A geohash has between 1 and " + MAX_PRECISION + " characters.");
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.polylines.domain.heatmap;
+
+import java.util.Arrays;
+
+//Count, sum and max of the readings taken inside each geohash tile, in an open addressing table of primitive
+//columns. Not thread safe: every thread fills its own tiles and they are merged afterwards.
+public class HeatmapTiles {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long EMPTY = -1;
+
+    private final int precision;
+    private long[] keys;
+    private long[] counts;
+    private long[] sums;
+    private int[] maxes;
+    private int size;
+
+    public HeatmapTiles(int precision) {
+        Geohash.checkPrecision(precision);
+        this.precision = precision;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public void add(double lat, double lng, int reading) {
+        add(Geohash.encode(lat, lng, precision), 1, reading, reading);
+    }
+
+    public HeatmapTiles merge(HeatmapTiles other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Only tiles of the same precision can be merged.");
+        }
+        for (int slot = 0; slot < other.keys.length; slot++) {
+            if (other.keys[slot] != EMPTY) {
+                add(other.keys[slot], other.counts[slot], other.sums[slot], other.maxes[slot]);
+            }
+        }
+        return this;
+    }
+
+    public HeatmapTiles copy() {
+        HeatmapTiles copy = new HeatmapTiles(precision);
+        copy.keys = keys.clone();
+        copy.counts = counts.clone();
+        copy.sums = sums.clone();
+        copy.maxes = maxes.clone();
+        copy.size = size;
+        return copy;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long count(long geohash) {
+        int slot = find(geohash);
+        return keys[slot] == EMPTY ? 0 : counts[slot];
+    }
+
+    public double average(long geohash) {
+        int slot = find(geohash);
+        return keys[slot] == EMPTY ? 0 : (double) sums[slot] / counts[slot];
+    }
+
+    public int max(long geohash) {
+        int slot = find(geohash);
+        return keys[slot] == EMPTY ? 0 : maxes[slot];
+    }
+
+    public void forEach(TileVisitor visitor) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                visitor.visit(keys[slot], counts[slot], sums[slot], maxes[slot]);
+            }
+        }
+    }
+
+    private void add(long geohash, long count, long sum, int max) {
+        int slot = find(geohash);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = geohash;
+            counts[slot] = count;
+            sums[slot] = sum;
+            maxes[slot] = max;
+            size++;
+            //Kept at most half full so probes stay short
+            if (size * 2 > keys.length) {
+                grow();
+            }
+        } else {
+            counts[slot] += count;
+            sums[slot] += sum;
+            maxes[slot] = Math.max(maxes[slot], max);
+        }
+    }
+
+    private int find(long geohash) {
+        int mask = keys.length - 1;
+        int slot = hash(geohash) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != geohash) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        long[] oldSums = sums;
+        int[] oldMaxes = maxes;
+        allocate(oldKeys.length * 2);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                int newSlot = find(oldKeys[slot]);
+                keys[newSlot] = oldKeys[slot];
+                counts[newSlot] = oldCounts[slot];
+                sums[newSlot] = oldSums[slot];
+                maxes[newSlot] = oldMaxes[slot];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        counts = new long[capacity];
+        sums = new long[capacity];
+        maxes = new int[capacity];
+    }
+
+    //Neighbouring tiles have close hashes that would cluster under linear probing, so the bits are mixed first
+    private static int hash(long geohash) {
+        long mixed = geohash * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ mixed >>> 32);
+    }
+}
@@ -0,0 +1,66 @@
+package com.polylines.domain.heatmap;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import com.polylines.domain.particlesreading.ReadingListener;
+
+//Live heatmap fed by the readings of every robot. Each thread folds its readings into its own tiles, so workers
+//never contend on a shared table; a snapshot copies the shards and merges them in parallel.
+public class PollutionHeatmap implements ReadingListener {
+
+    public static final int DEFAULT_PRECISION = 7;
+
+    private final int precision;
+    private final List<Shard> shards;
+    private final ThreadLocal<Shard> threadShard;
+
+    public PollutionHeatmap() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public PollutionHeatmap(int precision) {
+        Geohash.checkPrecision(precision);
+        this.precision = precision;
+        this.shards = new CopyOnWriteArrayList<>();
+        this.threadShard = ThreadLocal.withInitial(this::newShard);
+    }
+
+    @Override
+    public void onReading(double lat, double lng, int reading) {
+        Shard shard = threadShard.get();
+        //Only a snapshot competes for this lock, so it is almost always uncontended
+        synchronized (shard) {
+            shard.tiles.add(lat, lng, reading);
+        }
+    }
+
+    public HeatmapTiles snapshot() {
+        return shards.parallelStream()
+                .map(Shard::copy)
+                .reduce(HeatmapTiles::merge)
+                .orElseGet(() -> new HeatmapTiles(precision));
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    private Shard newShard() {
+        Shard shard = new Shard(new HeatmapTiles(precision));
+        shards.add(shard);
+        return shard;
+    }
+
+    private static class Shard {
+
+        private final HeatmapTiles tiles;
+
+        private Shard(HeatmapTiles tiles) {
+            this.tiles = tiles;
+        }
+
+        private synchronized HeatmapTiles copy() {
+            return tiles.copy();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.polylines.domain.heatmap;
+
+@FunctionalInterface
+public interface TileVisitor {
+
+    void visit(long geohash, long count, long sum, int max);
+}
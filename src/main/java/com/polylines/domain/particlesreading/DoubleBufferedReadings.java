@@ -0,0 +1,52 @@
+package com.polylines.domain.particlesreading;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+//One thread records while another periodically swaps the active window for the spare one.
+//Recording never blocks; swapping waits only for a recording already in progress on the old window.
+public class DoubleBufferedReadings {
+
+    private final AtomicReference<Window> active;
+    private Window spare;
+
+    public DoubleBufferedReadings() {
+        active = new AtomicReference<>(new Window());
+        spare = new Window();
+    }
+
+    public void record(int value) {
+        while (true) {
+            Window window = active.get();
+            window.writers.incrementAndGet();
+            if (active.get() == window) {
+                window.readings.record(value);
+                window.writers.decrementAndGet();
+                return;
+            }
+            window.writers.decrementAndGet();
+        }
+    }
+
+    //The returned readings stay untouched until the next swap, which reuses them as the active window
+    public ParticleReadings swap() {
+        spare.readings.clear();
+        Window previous = active.getAndSet(spare);
+        while (previous.writers.get() != 0) {
+            Thread.yield();
+        }
+        spare = previous;
+        return previous.readings;
+    }
+
+    //Only consistent when read from the recording thread
+    public ParticleReadings current() {
+        return active.get().readings;
+    }
+
+    private static class Window {
+
+        private final ParticleReadings readings = new ParticleReadings();
+        private final AtomicInteger writers = new AtomicInteger();
+    }
+}
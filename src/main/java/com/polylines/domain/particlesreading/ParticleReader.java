@@ -1,11 +1,18 @@
 package com.polylines.domain.particlesreading;
 
-import java.util.List;
 public interface ParticleReader {
 
-    void run();
+    //Takes one reading, records it in the current window and returns it
+    int run();
 
-    void clearPreviousReadings();
+    //Same as run, for readers whose readings depend on how far the robot has travelled
+    default int runAt(double travelledMeters) {
+        return run();
+    }
 
-    List<Integer> getReadings();
+    //Readings taken since the previous collection; the reader starts a new window for the next ones
+    ParticleReadings collectReadings();
+
+    //Readings of the window in progress, only consistent from the thread taking them
+    ParticleReadings getReadings();
 }
@@ -0,0 +1,95 @@
+package com.polylines.domain.particlesreading;
+
+//Running sum, count, max and a histogram with one bucket per level, so memory does not grow with the readings.
+//Readings above MAX_LEVEL share the last bucket and readings below zero share the first one.
+public class ParticleReadings {
+
+    public static final int MAX_LEVEL = 200;
+
+    private final long[] histogram;
+    private long count;
+    private long sum;
+    private int max;
+
+    public ParticleReadings() {
+        histogram = new long[MAX_LEVEL + 1];
+    }
+
+    //histogram[level] readings of each level, as returned by countAt
+    public ParticleReadings(long[] histogram, long count, long sum, int max) {
+        this();
+        System.arraycopy(histogram, 0, this.histogram, 0, Math.min(histogram.length, this.histogram.length));
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    public void record(int value) {
+        histogram[Math.max(0, Math.min(value, MAX_LEVEL))]++;
+        if (count == 0 || value > max) {
+            max = value;
+        }
+        count++;
+        sum += value;
+    }
+
+    public void clear() {
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = 0;
+        }
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    public void copyFrom(ParticleReadings other) {
+        System.arraycopy(other.histogram, 0, histogram, 0, histogram.length);
+        count = other.count;
+        sum = other.sum;
+        max = other.max;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long sum() {
+        return sum;
+    }
+
+    public double average() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    public int max() {
+        return max;
+    }
+
+    public long countAt(int level) {
+        return histogram[level];
+    }
+
+    public int p50() {
+        return percentile(50);
+    }
+
+    public int p95() {
+        return percentile(95);
+    }
+
+    //Smallest level that at least the given percentage of the readings do not exceed
+    public int percentile(double percentage) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentage / 100 * count));
+        long seen = 0;
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            seen += histogram[level];
+            if (seen >= rank) {
+                return Math.min(level, max);
+            }
+        }
+        return max;
+    }
+}
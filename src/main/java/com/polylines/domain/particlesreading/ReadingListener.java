@@ -0,0 +1,10 @@
+package com.polylines.domain.particlesreading;
+
+//Told about every reading together with the position where it was taken
+@FunctionalInterface
+public interface ReadingListener {
+
+    ReadingListener NONE = (lat, lng, reading) -> { };
+
+    void onReading(double lat, double lng, int reading);
+}
@@ -13,15 +13,25 @@ public class Report {
     private Location location;
     private Level level;
     private String source;
+    private int robotId;
 
     private Report() {
     }
 
     public Report(long timestamp, Location location, Level level, String source) {
+        this(timestamp, location, level, source, 0);
+    }
+
+    public Report(long timestamp, Location location, Level level, String source, int robotId) {
         this.timestamp = timestamp;
         this.location = location;
         this.level = level;
         this.source = source;
+        this.robotId = robotId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
     }
 
     public Location getLocation() {
@@ -35,4 +45,8 @@ public class Report {
     public String getSource() {
         return source;
     }
+
+    public int getRobotId() {
+        return robotId;
+    }
 }
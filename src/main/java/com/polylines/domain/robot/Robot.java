@@ -9,26 +9,40 @@ import com.polylines.domain.observers.Observer;
 
 public class Robot implements Observable {
 
-    public final List<GeoPoint> journey;
+    public final Route route;
+    private final int id;
     private final double speed;
-    private GeoPoint currentPosition;
+    //Written by the movement thread and read by the reporting one
+    private volatile GeoPoint currentPosition;
     private final List<Observer> observers;
     public static final String SOURCE = "ROBOT";
     private static final String NOT_VALID_JOURNEY = "The journey should have more than one point.";
 
     public Robot(List<GeoPoint> journey, double speed) throws RobotValidationException {
-        if (isEmpty(journey) || journey.size() == 1) {
+        this(isEmpty(journey) ? null : Route.of(journey), speed);
+    }
+
+    public Robot(Route route, double speed) throws RobotValidationException {
+        this(0, route, speed);
+    }
+
+    public Robot(int id, Route route, double speed) throws RobotValidationException {
+        if (route == null || !route.hasPoint(1)) {
             throw new RobotValidationException(NOT_VALID_JOURNEY);
         }
-        this.journey = journey;
+        this.id = id;
+        this.route = route;
         this.speed = speed;
-        currentPosition = journey.get(0);
+        currentPosition = route.pointAt(0);
         observers = new ArrayList<>();
     }
 
     public boolean atTheEndOfJourney() {
-        GeoPoint lastPoint = journey.get(journey.size() - 1);
-        return currentPosition.equals(lastPoint);
+        return route.isComplete() && currentPosition.equals(route.lastPoint());
+    }
+
+    public int getId() {
+        return id;
     }
 
     public GeoPoint getCurrentPosition() {
@@ -52,6 +66,15 @@ public class Robot implements Observable {
         observers.forEach(Observer::update);
     }
 
+    //Same position the robot reaches after moving elapsedSeconds times at its speed
+    public GeoPoint positionAt(double elapsedSeconds) {
+        return positionAtDistance(elapsedSeconds * speed);
+    }
+
+    public GeoPoint positionAtDistance(double meters) {
+        return route.positionAtDistance(meters);
+    }
+
     public double getSpeed() {
         return speed;
     }
@@ -0,0 +1,272 @@
+package com.polylines.domain.robot;
+
+import static com.polylines.domain.robot.GeoPointBuilder.aGeoPoint;
+
+import java.util.Arrays;
+import java.util.List;
+import com.polylines.domain.robot.distance.DistanceKernel;
+import com.polylines.domain.robot.distance.DistanceKernels;
+
+//A lazy route is read ahead on whichever thread first needs a point, while the robot's own thread may be reading the
+//points it already has. Reading ahead is synchronized; arrays are swapped as volatile references and a point only
+//counts towards size() once it is measured, so the points below size() never change under a reader.
+public class Route {
+
+    private static final int POINTS_PER_LAZY_READ = 256;
+    //Below this the segment is too short, or too close to half the globe, for its great circle to be well defined
+    private static final double MIN_SLERP_SINE = 1e-12;
+
+    private volatile double[] lats;
+    private volatile double[] lngs;
+    //cumulativeMeters[i] is the distance travelled from the first point until point i
+    private volatile double[] cumulativeMeters;
+    //Unit vector from the centre of the Earth through each point
+    private volatile double[] xs;
+    private volatile double[] ys;
+    private volatile double[] zs;
+    //angles[i] is the angle, in radians, the segment from point i to point i + 1 spans
+    private volatile double[] angles;
+    //Points measured, and so readable; appended ones wait for the next measure
+    private volatile int size;
+    private int appended;
+    private final DistanceKernel kernel;
+    private RouteSource pendingSource;
+    private RouteBuilder pendingBuilder;
+    private volatile GeoPoint lastPoint;
+    private volatile boolean complete;
+
+    Route(int capacity, DistanceKernel kernel) {
+        this.kernel = kernel;
+        lats = new double[capacity];
+        lngs = new double[capacity];
+        cumulativeMeters = new double[capacity];
+        xs = new double[capacity];
+        ys = new double[capacity];
+        zs = new double[capacity];
+        angles = new double[capacity];
+    }
+
+    public static Route of(List<GeoPoint> points) {
+        return of(points, DistanceKernels.HAVERSINE);
+    }
+
+    public static Route of(List<GeoPoint> points, DistanceKernel kernel) {
+        RouteBuilder builder = new RouteBuilder(points.size(), kernel);
+        points.forEach(point -> builder.add(point.lat, point.lng));
+        return builder.build();
+    }
+
+    public static Route lazy(RouteSource source) {
+        return lazy(source, DistanceKernels.HAVERSINE);
+    }
+
+    //Points are read from the source the first time they are needed, so the robot can start before it is fully read
+    public static Route lazy(RouteSource source, DistanceKernel kernel) {
+        Route route = new Route(POINTS_PER_LAZY_READ, kernel);
+        route.pendingSource = source;
+        route.pendingBuilder = new RouteBuilder(route);
+        return route;
+    }
+
+    //Reads a lazy route ahead until it has the point at the given index or it is complete
+    public void readUntil(int index) {
+        if (index >= size && !complete) {
+            readAhead(index);
+        }
+    }
+
+    public boolean hasPoint(int index) {
+        readUntil(index);
+        return index < size;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    //Points read so far; for a lazy route this grows until the route is complete
+    public int size() {
+        return size;
+    }
+
+    public double lat(int index) {
+        return lats[index];
+    }
+
+    public double lng(int index) {
+        return lngs[index];
+    }
+
+    public GeoPoint pointAt(int index) {
+        return aGeoPoint(lats[index], lngs[index]);
+    }
+
+    public GeoPoint lastPoint() {
+        readUntil(Integer.MAX_VALUE);
+        return lastPoint;
+    }
+
+    public double cumulativeMeters(int index) {
+        return cumulativeMeters[index];
+    }
+
+    public double segmentMeters(int segment) {
+        return cumulativeMeters[segment + 1] - cumulativeMeters[segment];
+    }
+
+    public double totalMeters() {
+        readUntil(Integer.MAX_VALUE);
+        int points = size;
+        return points == 0 ? 0 : cumulativeMeters[points - 1];
+    }
+
+    public GeoPoint positionAtDistance(double meters) {
+        readUntil(1);
+        if (meters <= 0) {
+            return pointAt(0);
+        }
+        int points = size;
+        while (!complete && cumulativeMeters[points - 1] <= meters) {
+            readUntil(points);
+            points = size;
+        }
+        if (meters >= cumulativeMeters[points - 1]) {
+            return pointAt(points - 1);
+        }
+        int point = lastPointBefore(meters, points);
+        if (cumulativeMeters[point] == meters) {
+            return pointAt(point);
+        }
+        return interpolate(point, meters - cumulativeMeters[point]);
+    }
+
+    //Index of the last point whose cumulative distance is not greater than the given meters
+    public int lastPointBefore(double meters) {
+        return lastPointBefore(meters, size);
+    }
+
+    private int lastPointBefore(double meters, int points) {
+        double[] cumulativeMeters = this.cumulativeMeters;
+        int low = 0;
+        int high = points - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (cumulativeMeters[middle] <= meters) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    //Along the great circle through both ends of the segment, so the point is as far from its start as the meters say
+    //however long the segment or close to a pole, and a segment crossing the antimeridian takes the short way round
+    public GeoPoint interpolate(int segment, double metersIntoSegment) {
+        double radio = metersIntoSegment / segmentMeters(segment);
+        double angle = angles[segment];
+        double sine = Math.sin(angle);
+        if (sine < MIN_SLERP_SINE) {
+            double newLat = lats[segment] + (lats[segment + 1] - lats[segment]) * radio;
+            double newLng = lngs[segment] + (lngs[segment + 1] - lngs[segment]) * radio;
+            return aGeoPoint(newLat, newLng);
+        }
+        double fromWeight = Math.sin((1 - radio) * angle) / sine;
+        double toWeight = Math.sin(radio * angle) / sine;
+        double x = fromWeight * xs[segment] + toWeight * xs[segment + 1];
+        double y = fromWeight * ys[segment] + toWeight * ys[segment + 1];
+        double z = fromWeight * zs[segment] + toWeight * zs[segment + 1];
+        return aGeoPoint(Math.toDegrees(Math.atan2(z, Math.sqrt(x * x + y * y))), Math.toDegrees(Math.atan2(y, x)));
+    }
+
+    DistanceKernel kernel() {
+        return kernel;
+    }
+
+    int appended() {
+        return appended;
+    }
+
+    void append(double lat, double lng) {
+        if (appended == lats.length) {
+            grow();
+        }
+        lats[appended] = lat;
+        lngs[appended] = lng;
+        appended++;
+    }
+
+    void complete() {
+        measure();
+        lats = Arrays.copyOf(lats, size);
+        lngs = Arrays.copyOf(lngs, size);
+        cumulativeMeters = Arrays.copyOf(cumulativeMeters, size);
+        xs = Arrays.copyOf(xs, size);
+        ys = Arrays.copyOf(ys, size);
+        zs = Arrays.copyOf(zs, size);
+        angles = Arrays.copyOf(angles, size);
+        lastPoint = size == 0 ? null : pointAt(size - 1);
+        pendingSource = null;
+        pendingBuilder = null;
+        complete = true;
+    }
+
+    private synchronized void readAhead(int index) {
+        while (index >= size && pendingSource != null) {
+            if (pendingSource.readInto(pendingBuilder, POINTS_PER_LAZY_READ) == 0) {
+                complete();
+            } else {
+                measure();
+            }
+        }
+    }
+
+    //Distances and great circles of the points appended since the last call are computed in one batch, and only
+    //then counted in size
+    private void measure() {
+        int measured = size;
+        if (measured == appended) {
+            return;
+        }
+        double[] lats = this.lats;
+        double[] lngs = this.lngs;
+        double[] cumulativeMeters = this.cumulativeMeters;
+        double[] xs = this.xs;
+        double[] ys = this.ys;
+        double[] zs = this.zs;
+        double[] angles = this.angles;
+        kernel.distancesToPrevious(lats, lngs, measured, appended, cumulativeMeters);
+        for (int i = measured; i < appended; i++) {
+            double lat = Math.toRadians(lats[i]);
+            double lng = Math.toRadians(lngs[i]);
+            xs[i] = Math.cos(lat) * Math.cos(lng);
+            ys[i] = Math.cos(lat) * Math.sin(lng);
+            zs[i] = Math.sin(lat);
+            if (i > 0) {
+                cumulativeMeters[i] += cumulativeMeters[i - 1];
+                angles[i - 1] = angleBetween(xs, ys, zs, i - 1, i);
+            }
+        }
+        size = appended;
+    }
+
+    //atan2 of the cross and dot products stays accurate for the tiny angles most segments span
+    private static double angleBetween(double[] xs, double[] ys, double[] zs, int from, int to) {
+        double crossX = ys[from] * zs[to] - zs[from] * ys[to];
+        double crossY = zs[from] * xs[to] - xs[from] * zs[to];
+        double crossZ = xs[from] * ys[to] - ys[from] * xs[to];
+        double dot = xs[from] * xs[to] + ys[from] * ys[to] + zs[from] * zs[to];
+        return Math.atan2(Math.sqrt(crossX * crossX + crossY * crossY + crossZ * crossZ), dot);
+    }
+
+    private void grow() {
+        int capacity = Math.max(lats.length + (lats.length >> 1), 2);
+        lats = Arrays.copyOf(lats, capacity);
+        lngs = Arrays.copyOf(lngs, capacity);
+        cumulativeMeters = Arrays.copyOf(cumulativeMeters, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        zs = Arrays.copyOf(zs, capacity);
+        angles = Arrays.copyOf(angles, capacity);
+    }
+}
@@ -0,0 +1,45 @@
+package com.polylines.domain.robot;
+
+import com.polylines.domain.robot.distance.DistanceKernel;
+import com.polylines.domain.robot.distance.DistanceKernels;
+
+public class RouteBuilder {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final Route route;
+
+    public RouteBuilder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RouteBuilder(int expectedPoints) {
+        this(expectedPoints, DistanceKernels.HAVERSINE);
+    }
+
+    public RouteBuilder(int expectedPoints, DistanceKernel kernel) {
+        this(new Route(Math.max(expectedPoints, 2), kernel));
+    }
+
+    RouteBuilder(Route route) {
+        this.route = route;
+    }
+
+    public static RouteBuilder aRoute() {
+        return new RouteBuilder();
+    }
+
+    public RouteBuilder add(double lat, double lng) {
+        route.append(lat, lng);
+        return this;
+    }
+
+    public int size() {
+        return route.appended();
+    }
+
+    public Route build() {
+        route.complete();
+        return route;
+    }
+}
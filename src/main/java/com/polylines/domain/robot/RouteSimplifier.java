@@ -0,0 +1,158 @@
+package com.polylines.domain.robot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+//Douglas-Peucker: a stretch of the route is replaced by its chord when every point on it is within the tolerance of
+//the chord, and otherwise split at its farthest point. A chord is also refused when it is more than maxLengthLoss
+//shorter than the stretch it replaces, so the whole route never loses more than that fraction of its length and the
+//readings taken every 100 m keep their cadence. Stretches of very large routes are simplified in parallel.
+public class RouteSimplifier {
+
+    private static final double DEFAULT_MAX_LENGTH_LOSS = 0.01;
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+    private static final double METERS_PER_DEGREE = 6_371_000 * Math.PI / 180;
+
+    private final double toleranceMeters;
+    private final double maxLengthLoss;
+    private final ForkJoinPool pool;
+
+    public RouteSimplifier(double toleranceMeters) {
+        this(toleranceMeters, DEFAULT_MAX_LENGTH_LOSS);
+    }
+
+    public RouteSimplifier(double toleranceMeters, double maxLengthLoss) {
+        this(toleranceMeters, maxLengthLoss, ForkJoinPool.commonPool());
+    }
+
+    public RouteSimplifier(double toleranceMeters, double maxLengthLoss, ForkJoinPool pool) {
+        if (!(toleranceMeters >= 0)) {
+            throw new IllegalArgumentException("The tolerance should not be negative.");
+        }
+        if (!(maxLengthLoss >= 0 && maxLengthLoss < 1)) {
+            throw new IllegalArgumentException("The length loss should be a fraction between 0 and 1.");
+        }
+        this.toleranceMeters = toleranceMeters;
+        this.maxLengthLoss = maxLengthLoss;
+        this.pool = pool;
+    }
+
+    //A lazy route is read to its end first
+    public SimplifiedRoute simplify(Route route) {
+        double originalMeters = route.totalMeters();
+        int size = route.size();
+        if (size < 3) {
+            return new SimplifiedRoute(route, size, 0, originalMeters);
+        }
+        boolean[] kept = new boolean[size];
+        kept[0] = true;
+        kept[size - 1] = true;
+        double maxDeviation = pool.invoke(new Stretch(route, kept, 0, size - 1));
+
+        RouteBuilder builder = new RouteBuilder(size, route.kernel());
+        for (int i = 0; i < size; i++) {
+            if (kept[i]) {
+                builder.add(route.lat(i), route.lng(i));
+            }
+        }
+        return new SimplifiedRoute(builder.build(), size, maxDeviation, originalMeters);
+    }
+
+    //Simplifies the points between two kept ones and returns the largest deviation of the points it removed
+    private class Stretch extends RecursiveTask<Double> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Route route;
+        private final boolean[] kept;
+        private final int first;
+        private final int last;
+
+        private Stretch(Route route, boolean[] kept, int first, int last) {
+            this.route = route;
+            this.kept = kept;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected Double compute() {
+            List<Stretch> forked = new ArrayList<>();
+            int[] pending = new int[64];
+            int top = 0;
+            pending[top++] = first;
+            pending[top++] = last;
+            double maxDeviation = 0;
+            while (top > 0) {
+                int to = pending[--top];
+                int from = pending[--top];
+                if (to - from < 2) {
+                    continue;
+                }
+                double cosLat = Math.cos(Math.toRadians((route.lat(from) + route.lat(to)) / 2));
+                int farthest = from + 1;
+                double farthestMeters = deviation(from, to, farthest, cosLat);
+                for (int i = from + 2; i < to; i++) {
+                    double meters = deviation(from, to, i, cosLat);
+                    if (meters > farthestMeters) {
+                        farthest = i;
+                        farthestMeters = meters;
+                    }
+                }
+                if (farthestMeters <= toleranceMeters
+                        && lengthLoss(from, to) <= maxLengthLoss * stretchMeters(from, to)) {
+                    maxDeviation = Math.max(maxDeviation, farthestMeters);
+                    continue;
+                }
+                kept[farthest] = true;
+                if (pending.length < top + 4) {
+                    pending = Arrays.copyOf(pending, pending.length * 2);
+                }
+                top = split(from, farthest, pending, top, forked);
+                top = split(farthest, to, pending, top, forked);
+            }
+            for (Stretch stretch : forked) {
+                maxDeviation = Math.max(maxDeviation, stretch.join());
+            }
+            return maxDeviation;
+        }
+
+        private int split(int from, int to, int[] pending, int top, List<Stretch> forked) {
+            if (to - from > PARALLEL_THRESHOLD) {
+                Stretch stretch = new Stretch(route, kept, from, to);
+                stretch.fork();
+                forked.add(stretch);
+                return top;
+            }
+            pending[top] = from;
+            pending[top + 1] = to;
+            return top + 2;
+        }
+
+        //Meters from the point to the chord between from and to, on a plane tangent to the chord
+        private double deviation(int from, int to, int point, double cosLat) {
+            double chordX = (route.lng(to) - route.lng(from)) * cosLat * METERS_PER_DEGREE;
+            double chordY = (route.lat(to) - route.lat(from)) * METERS_PER_DEGREE;
+            double pointX = (route.lng(point) - route.lng(from)) * cosLat * METERS_PER_DEGREE;
+            double pointY = (route.lat(point) - route.lat(from)) * METERS_PER_DEGREE;
+            double chordSquared = chordX * chordX + chordY * chordY;
+            double along = chordSquared == 0 ? 0 : (pointX * chordX + pointY * chordY) / chordSquared;
+            along = Math.max(0, Math.min(1, along));
+            double dx = pointX - along * chordX;
+            double dy = pointY - along * chordY;
+            return Math.sqrt(dx * dx + dy * dy);
+        }
+
+        private double stretchMeters(int from, int to) {
+            return route.cumulativeMeters(to) - route.cumulativeMeters(from);
+        }
+
+        private double lengthLoss(int from, int to) {
+            return stretchMeters(from, to)
+                    - route.kernel().distance(route.lat(from), route.lng(from), route.lat(to), route.lng(to));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.polylines.domain.robot;
+
+public interface RouteSource {
+
+    //Adds up to maxPoints points to the builder and returns how many were added, 0 when there are no more
+    int readInto(RouteBuilder builder, int maxPoints);
+}
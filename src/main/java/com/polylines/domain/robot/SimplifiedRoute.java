@@ -0,0 +1,47 @@
+package com.polylines.domain.robot;
+
+public class SimplifiedRoute {
+
+    private final Route route;
+    private final int originalPoints;
+    private final double maxDeviationMeters;
+    private final double originalMeters;
+
+    SimplifiedRoute(Route route, int originalPoints, double maxDeviationMeters, double originalMeters) {
+        this.route = route;
+        this.originalPoints = originalPoints;
+        this.maxDeviationMeters = maxDeviationMeters;
+        this.originalMeters = originalMeters;
+    }
+
+    public Route getRoute() {
+        return route;
+    }
+
+    public int getOriginalPoints() {
+        return originalPoints;
+    }
+
+    public int getRemovedPoints() {
+        return originalPoints - route.size();
+    }
+
+    //Largest distance from a removed point to the simplified route
+    public double getMaxDeviationMeters() {
+        return maxDeviationMeters;
+    }
+
+    public double getOriginalMeters() {
+        return originalMeters;
+    }
+
+    public double getLengthLossMeters() {
+        return originalMeters - route.totalMeters();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Route simplified from %d to %d points: max deviation %.2f m, %.1f of %.1f m lost",
+                originalPoints, route.size(), maxDeviationMeters, getLengthLossMeters(), originalMeters);
+    }
+}
@@ -0,0 +1,24 @@
+package com.polylines.domain.robot.distance;
+
+//Uses the short-segment kernel when its estimate is below the threshold and the long-segment kernel otherwise
+public class AdaptiveDistanceKernel implements DistanceKernel {
+
+    private final DistanceKernel shortSegments;
+    private final DistanceKernel longSegments;
+    private final double thresholdMeters;
+
+    public AdaptiveDistanceKernel(DistanceKernel shortSegments, DistanceKernel longSegments, double thresholdMeters) {
+        this.shortSegments = shortSegments;
+        this.longSegments = longSegments;
+        this.thresholdMeters = thresholdMeters;
+    }
+
+    @Override
+    public double distance(double startLat, double startLng, double endLat, double endLng) {
+        double estimate = shortSegments.distance(startLat, startLng, endLat, endLng);
+        if (estimate < thresholdMeters) {
+            return estimate;
+        }
+        return longSegments.distance(startLat, startLng, endLat, endLng);
+    }
+}
@@ -0,0 +1,14 @@
+package com.polylines.domain.robot.distance;
+
+public interface DistanceKernel {
+
+    //result in meters
+    double distance(double startLat, double startLng, double endLat, double endLng);
+
+    //For every index in [from, to) greater than zero, meters[i] is the distance from point i - 1 to point i
+    default void distancesToPrevious(double[] lats, double[] lngs, int from, int to, double[] meters) {
+        for (int i = Math.max(from, 1); i < to; i++) {
+            meters[i] = distance(lats[i - 1], lngs[i - 1], lats[i], lngs[i]);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.polylines.domain.robot.distance;
+
+public class DistanceKernels {
+
+    private static final double SHORT_SEGMENT_METERS = 1000;
+
+    public static final DistanceKernel HAVERSINE = new HaversineKernel();
+    public static final DistanceKernel EQUIRECTANGULAR = new EquirectangularKernel();
+    public static final DistanceKernel VINCENTY = new VincentyKernel();
+    public static final DistanceKernel ADAPTIVE = adaptive(SHORT_SEGMENT_METERS);
+
+    private DistanceKernels() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static DistanceKernel adaptive(double shortSegmentMeters) {
+        return new AdaptiveDistanceKernel(EQUIRECTANGULAR, HAVERSINE, shortSegmentMeters);
+    }
+}
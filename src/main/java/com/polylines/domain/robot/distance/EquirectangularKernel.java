@@ -0,0 +1,16 @@
+package com.polylines.domain.robot.distance;
+
+import static com.polylines.domain.robot.distance.HaversineKernel.EARTH_RADIUS;
+
+//Flat-earth approximation around the mean latitude of the segment, with a single cosine and no atan2.
+//Compared with haversine the error grows with the square of the segment length and with the latitude:
+//below 80 degrees it stays under 4e-8 relative (0.05 mm) for 1 km segments and under 4e-6 (4 cm) for 10 km ones.
+public class EquirectangularKernel implements DistanceKernel {
+
+    @Override
+    public double distance(double startLat, double startLng, double endLat, double endLng) {
+        double x = Math.toRadians(endLng - startLng) * Math.cos(Math.toRadians((startLat + endLat) / 2));
+        double y = Math.toRadians(endLat - startLat);
+        return EARTH_RADIUS * Math.sqrt(x * x + y * y);
+    }
+}
@@ -0,0 +1,44 @@
+package com.polylines.domain.robot.distance;
+
+public class HaversineKernel implements DistanceKernel {
+
+    static final double EARTH_RADIUS = 6371000;
+
+    @Override
+    public double distance(double startLat, double startLng, double endLat, double endLng) {
+        double startLatRadians = Math.toRadians(startLat);
+        double endLatRadians = Math.toRadians(endLat);
+        return distance(startLat, startLng, Math.cos(startLatRadians), endLat, endLng, Math.cos(endLatRadians));
+    }
+
+    //Each latitude cosine is computed once and shared by the two segments touching that point
+    @Override
+    public void distancesToPrevious(double[] lats, double[] lngs, int from, int to, double[] meters) {
+        int first = Math.max(from, 1);
+        if (first >= to) {
+            return;
+        }
+        double previousCos = Math.cos(Math.toRadians(lats[first - 1]));
+        for (int i = first; i < to; i++) {
+            double cos = Math.cos(Math.toRadians(lats[i]));
+            meters[i] = distance(lats[i - 1], lngs[i - 1], previousCos, lats[i], lngs[i], cos);
+            previousCos = cos;
+        }
+    }
+
+    private static double distance(double startLat, double startLng, double startLatCos,
+            double endLat, double endLng, double endLatCos) {
+        double dLat = Math.toRadians(endLat - startLat);
+        double dLng = Math.toRadians(endLng - startLng);
+
+        double a = haversine(dLat) + startLatCos * endLatCos * haversine(dLng);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+
+        return EARTH_RADIUS * c;
+    }
+
+    private static double haversine(double val) {
+        double sin = Math.sin(val / 2);
+        return sin * sin;
+    }
+}
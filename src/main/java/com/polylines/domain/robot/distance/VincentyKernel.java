@@ -0,0 +1,61 @@
+package com.polylines.domain.robot.distance;
+
+//Vincenty's inverse formula on the WGS-84 ellipsoid, accurate to within a millimetre.
+//It can fail to converge for nearly antipodal points, where it falls back to haversine.
+public class VincentyKernel implements DistanceKernel {
+
+    private static final double SEMI_MAJOR_AXIS = 6378137.0;
+    private static final double FLATTENING = 1 / 298.257223563;
+    private static final double SEMI_MINOR_AXIS = SEMI_MAJOR_AXIS * (1 - FLATTENING);
+    private static final double CONVERGENCE = 1e-12;
+    private static final int MAX_ITERATIONS = 200;
+
+    private final DistanceKernel fallback = new HaversineKernel();
+
+    @Override
+    public double distance(double startLat, double startLng, double endLat, double endLng) {
+        double l = Math.toRadians(endLng - startLng);
+        double u1 = Math.atan((1 - FLATTENING) * Math.tan(Math.toRadians(startLat)));
+        double u2 = Math.atan((1 - FLATTENING) * Math.tan(Math.toRadians(endLat)));
+        double sinU1 = Math.sin(u1);
+        double cosU1 = Math.cos(u1);
+        double sinU2 = Math.sin(u2);
+        double cosU2 = Math.cos(u2);
+
+        double lambda = l;
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double sinLambda = Math.sin(lambda);
+            double cosLambda = Math.cos(lambda);
+            double a = cosU2 * sinLambda;
+            double b = cosU1 * sinU2 - sinU1 * cosU2 * cosLambda;
+            double sinSigma = Math.sqrt(a * a + b * b);
+            if (sinSigma == 0) {
+                return 0;
+            }
+            double cosSigma = sinU1 * sinU2 + cosU1 * cosU2 * cosLambda;
+            double sigma = Math.atan2(sinSigma, cosSigma);
+            double sinAlpha = cosU1 * cosU2 * sinLambda / sinSigma;
+            double cosSqAlpha = 1 - sinAlpha * sinAlpha;
+            double cos2SigmaM = cosSqAlpha == 0 ? 0 : cosSigma - 2 * sinU1 * sinU2 / cosSqAlpha;
+            double c = FLATTENING / 16 * cosSqAlpha * (4 + FLATTENING * (4 - 3 * cosSqAlpha));
+            double previousLambda = lambda;
+            lambda = l + (1 - c) * FLATTENING * sinAlpha
+                    * (sigma + c * sinSigma * (cos2SigmaM + c * cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)));
+            if (Math.abs(lambda - previousLambda) < CONVERGENCE) {
+                return ellipsoidalDistance(cosSqAlpha, sinSigma, cosSigma, sigma, cos2SigmaM);
+            }
+        }
+        return fallback.distance(startLat, startLng, endLat, endLng);
+    }
+
+    private static double ellipsoidalDistance(double cosSqAlpha, double sinSigma, double cosSigma, double sigma,
+            double cos2SigmaM) {
+        double uSq = cosSqAlpha * (SEMI_MAJOR_AXIS * SEMI_MAJOR_AXIS - SEMI_MINOR_AXIS * SEMI_MINOR_AXIS)
+                / (SEMI_MINOR_AXIS * SEMI_MINOR_AXIS);
+        double a = 1 + uSq / 16384 * (4096 + uSq * (-768 + uSq * (320 - 175 * uSq)));
+        double b = uSq / 1024 * (256 + uSq * (-128 + uSq * (74 - 47 * uSq)));
+        double deltaSigma = b * sinSigma * (cos2SigmaM + b / 4 * (cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)
+                - b / 6 * cos2SigmaM * (-3 + 4 * sinSigma * sinSigma) * (-3 + 4 * cos2SigmaM * cos2SigmaM)));
+        return SEMI_MINOR_AXIS * a * (sigma - deltaSigma);
+    }
+}
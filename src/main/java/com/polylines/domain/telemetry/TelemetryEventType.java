@@ -0,0 +1,13 @@
+package com.polylines.domain.telemetry;
+
+//What the meters and value of an event hold depends on its type
+public enum TelemetryEventType {
+    //meters travelled when the waypoint was reached, value is the index of the waypoint
+    WAYPOINT_REACHED,
+    //meters of the mark the reading belongs to, value is the reading
+    READING_TAKEN,
+    //meters are unknown to the report generator (NaN), value is the ordinal of the report level
+    REPORT_EMITTED,
+    //meters of the whole journey, value is the number of waypoints
+    JOURNEY_FINISHED;
+}
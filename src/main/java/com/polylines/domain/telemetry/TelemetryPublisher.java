@@ -0,0 +1,10 @@
+package com.polylines.domain.telemetry;
+
+//Called from the movement and reporting hot paths, so implementations must not block or allocate
+@FunctionalInterface
+public interface TelemetryPublisher {
+
+    TelemetryPublisher NONE = (type, robotId, lat, lng, meters, value) -> { };
+
+    void publish(TelemetryEventType type, int robotId, double lat, double lng, double meters, long value);
+}
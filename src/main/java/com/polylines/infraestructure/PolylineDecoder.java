@@ -0,0 +1,107 @@
+package com.polylines.infraestructure;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import com.polylines.domain.robot.Route;
+import com.polylines.domain.robot.RouteBuilder;
+import com.polylines.domain.robot.RouteSource;
+import com.polylines.domain.robot.distance.DistanceKernel;
+import com.polylines.domain.robot.distance.DistanceKernels;
+
+public class PolylineDecoder implements RouteSource {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int AVERAGE_CHARS_PER_POINT = 6;
+    private static final double PRECISION = 1e-5;
+    private static final String NOT_VALID_POLYLINE = "The polyline ends in the middle of a point.";
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    private int lat;
+    private int lng;
+
+    public PolylineDecoder(CharSequence encoded) {
+        this(new StringReader(encoded.toString()));
+    }
+
+    public PolylineDecoder(Reader reader) {
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
+    }
+
+    public static Route decode(CharSequence encoded) {
+        return decode(encoded, DistanceKernels.HAVERSINE);
+    }
+
+    public static Route decode(CharSequence encoded, DistanceKernel kernel) {
+        RouteBuilder builder = new RouteBuilder(encoded.length() / AVERAGE_CHARS_PER_POINT, kernel);
+        new PolylineDecoder(encoded).readInto(builder, Integer.MAX_VALUE);
+        return builder.build();
+    }
+
+    public static Route decode(Reader reader) {
+        RouteBuilder builder = new RouteBuilder();
+        new PolylineDecoder(reader).readInto(builder, Integer.MAX_VALUE);
+        return builder.build();
+    }
+
+    public static Route decodeLazily(CharSequence encoded) {
+        return Route.lazy(new PolylineDecoder(encoded));
+    }
+
+    public static Route decodeLazily(CharSequence encoded, DistanceKernel kernel) {
+        return Route.lazy(new PolylineDecoder(encoded), kernel);
+    }
+
+    public static Route decodeLazily(Reader reader) {
+        return Route.lazy(new PolylineDecoder(reader));
+    }
+
+    @Override
+    public int readInto(RouteBuilder builder, int maxPoints) {
+        int read = 0;
+        while (read < maxPoints && hasMoreChars()) {
+            lat += nextValue();
+            lng += nextValue();
+            builder.add(lat * PRECISION, lng * PRECISION);
+            read++;
+        }
+        return read;
+    }
+
+    private int nextValue() {
+        int result = 0;
+        int shift = 0;
+        int chunk;
+        do {
+            if (!hasMoreChars()) {
+                throw new IllegalArgumentException(NOT_VALID_POLYLINE);
+            }
+            chunk = buffer[position++] - 63;
+            result |= (chunk & 0x1f) << shift;
+            shift += 5;
+        } while (chunk >= 0x20);
+        return (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+    }
+
+    private boolean hasMoreChars() {
+        if (position < limit) {
+            return true;
+        }
+        try {
+            limit = reader.read(buffer, 0, buffer.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        position = 0;
+        if (limit <= 0) {
+            limit = 0;
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,105 @@
+package com.polylines.infraestructure;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import com.polylines.domain.robot.Route;
+import com.polylines.domain.robot.distance.DistanceKernel;
+import com.polylines.domain.robot.distance.DistanceKernels;
+
+//Decoded routes shared by every robot driving the same polyline. A complete route is never modified again, so one
+//instance can be read by any number of robots and threads. Least recently used routes are evicted once the estimated
+//size of the cached routes goes over the cap.
+public class RouteCache {
+
+    //The estimate counts the seven double arrays of a route, the chars of its polyline and the map entry
+    private static final int BYTES_PER_POINT = 7 * Double.BYTES;
+    private static final int BYTES_PER_KEY_CHAR = Character.BYTES;
+    private static final int BYTES_PER_ENTRY = 160;
+
+    private final long maxBytes;
+    private final DistanceKernel kernel;
+    private final LinkedHashMap<String, Route> routes;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+    private long bytes;
+
+    public RouteCache(long maxBytes) {
+        this(maxBytes, DistanceKernels.HAVERSINE);
+    }
+
+    public RouteCache(long maxBytes, DistanceKernel kernel) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("The route cache needs a positive size.");
+        }
+        this.maxBytes = maxBytes;
+        this.kernel = kernel;
+        this.routes = new LinkedHashMap<>(16, 0.75f, true);
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.evictions = new AtomicLong();
+    }
+
+    //Decoding happens outside the lock, so a miss never holds up robots asking for other routes
+    public Route get(String polyline) {
+        Route route = cached(polyline);
+        if (route != null) {
+            hits.incrementAndGet();
+            return route;
+        }
+        misses.incrementAndGet();
+        return put(polyline, PolylineDecoder.decode(polyline, kernel));
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public synchronized int size() {
+        return routes.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    private synchronized Route cached(String polyline) {
+        return routes.get(polyline);
+    }
+
+    //When the same polyline was decoded twice at once, everybody gets the instance cached first
+    private synchronized Route put(String polyline, Route route) {
+        Route cached = routes.get(polyline);
+        if (cached != null) {
+            return cached;
+        }
+        long weight = weightOf(polyline, route);
+        if (weight > maxBytes) {
+            return route;
+        }
+        routes.put(polyline, route);
+        bytes += weight;
+        Iterator<Map.Entry<String, Route>> eldest = routes.entrySet().iterator();
+        while (bytes > maxBytes) {
+            Map.Entry<String, Route> entry = eldest.next();
+            bytes -= weightOf(entry.getKey(), entry.getValue());
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+        return route;
+    }
+
+    private static long weightOf(String polyline, Route route) {
+        return BYTES_PER_ENTRY + (long) route.size() * BYTES_PER_POINT + (long) polyline.length() * BYTES_PER_KEY_CHAR;
+    }
+}
@@ -0,0 +1,131 @@
+package com.polylines.infraestructure.checkpoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import com.polylines.application.moverobot.CollectorState;
+import com.polylines.domain.particlesreading.ParticleReadings;
+
+//Header: magic int, version int, robot count int and the epoch millis it was written at
+//Robot: id int, ticks long, travelled meters double, next reading at double, next position int, readings taken long,
+//finish published byte, lat double, lng double; then the pending readings: count long, sum long, max int and the
+//number of levels read short, followed by a level short and its count long for each of them
+public class FleetCheckpointFile {
+
+    private static final int MAGIC = 0x46434b50;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 20;
+    private static final int ROBOT_BYTES = 4 + 8 + 8 + 8 + 4 + 8 + 1 + 8 + 8 + 8 + 8 + 4 + 2;
+    private static final int LEVEL_BYTES = 2 + 8;
+
+    private FleetCheckpointFile() {
+    }
+
+    //The new checkpoint replaces the old one atomically, so a crash while writing leaves the previous one intact.
+    //It is not forced to disk: it is meant to survive the JVM dying, not the machine.
+    public static void write(Path file, List<CollectorState> states) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(sizeOf(states));
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(states.size()).putLong(System.currentTimeMillis());
+        for (CollectorState state : states) {
+            encode(state, buffer);
+        }
+        buffer.flip();
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public static List<CollectorState> read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Not a fleet checkpoint: " + file);
+        }
+        int robots = buffer.getInt();
+        buffer.getLong();
+        List<CollectorState> states = new ArrayList<>(robots);
+        long[] histogram = new long[ParticleReadings.MAX_LEVEL + 1];
+        try {
+            for (int i = 0; i < robots; i++) {
+                states.add(decode(buffer, histogram));
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("The fleet checkpoint is corrupt: " + file, e);
+        }
+        return states;
+    }
+
+    private static int sizeOf(List<CollectorState> states) {
+        int bytes = HEADER_BYTES;
+        for (CollectorState state : states) {
+            bytes += ROBOT_BYTES + LEVEL_BYTES * levelsRead(state.getPendingReadings());
+        }
+        return bytes;
+    }
+
+    private static void encode(CollectorState state, ByteBuffer buffer) {
+        buffer.putInt(state.getRobotId())
+                .putLong(state.getTicks())
+                .putDouble(state.getTravelledMeters())
+                .putDouble(state.getNextReadingAt())
+                .putInt(state.getNextPosition())
+                .putLong(state.getReadingsTaken())
+                .put((byte) (state.isFinishPublished() ? 1 : 0))
+                .putDouble(state.getLat())
+                .putDouble(state.getLng());
+        ParticleReadings readings = state.getPendingReadings();
+        buffer.putLong(readings.count())
+                .putLong(readings.sum())
+                .putInt(readings.max())
+                .putShort((short) levelsRead(readings));
+        for (int level = 0; level <= ParticleReadings.MAX_LEVEL; level++) {
+            if (readings.countAt(level) != 0) {
+                buffer.putShort((short) level).putLong(readings.countAt(level));
+            }
+        }
+    }
+
+    private static CollectorState decode(ByteBuffer buffer, long[] histogram) {
+        int robotId = buffer.getInt();
+        long ticks = buffer.getLong();
+        double travelledMeters = buffer.getDouble();
+        double nextReadingAt = buffer.getDouble();
+        int nextPosition = buffer.getInt();
+        long readingsTaken = buffer.getLong();
+        boolean finishPublished = buffer.get() != 0;
+        double lat = buffer.getDouble();
+        double lng = buffer.getDouble();
+        long count = buffer.getLong();
+        long sum = buffer.getLong();
+        int max = buffer.getInt();
+        int levels = buffer.getShort();
+        Arrays.fill(histogram, 0);
+        for (int i = 0; i < levels; i++) {
+            int level = buffer.getShort();
+            histogram[level] = buffer.getLong();
+        }
+        return new CollectorState(robotId, ticks, travelledMeters, nextReadingAt, nextPosition, readingsTaken,
+                finishPublished, lat, lng, new ParticleReadings(histogram, count, sum, max));
+    }
+
+    private static int levelsRead(ParticleReadings readings) {
+        int levels = 0;
+        for (int level = 0; level <= ParticleReadings.MAX_LEVEL; level++) {
+            if (readings.countAt(level) != 0) {
+                levels++;
+            }
+        }
+        return levels;
+    }
+}
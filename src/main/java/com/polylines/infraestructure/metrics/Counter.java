@@ -0,0 +1,21 @@
+package com.polylines.infraestructure.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+//Striped under contention, so threads counting at once do not fight over one cache line
+public class Counter {
+
+    private final LongAdder adder = new LongAdder();
+
+    public void increment() {
+        adder.increment();
+    }
+
+    public void add(long amount) {
+        adder.add(amount);
+    }
+
+    public long get() {
+        return adder.sum();
+    }
+}
@@ -0,0 +1,42 @@
+package com.polylines.infraestructure.metrics;
+
+import java.beans.ConstructorProperties;
+
+//Times in nanoseconds; also the type JMX clients see for each histogram
+public class LatencySummary {
+
+    private final long count;
+    private final double mean;
+    private final long p50;
+    private final long p99;
+    private final long max;
+
+    @ConstructorProperties({"count", "mean", "p50", "p99", "max"})
+    public LatencySummary(long count, double mean, long p50, long p99, long max) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getMax() {
+        return max;
+    }
+}
@@ -0,0 +1,77 @@
+package com.polylines.infraestructure.metrics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+//Named histograms, counters and gauges. Components look their metrics up once and record into them directly,
+//so the registry is never on the hot path; it is only read by JMX clients and the periodic dump.
+public class MetricsRegistry implements MetricsRegistryMXBean {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ConcurrentMap<String, LatencyHistogram> histograms;
+    private final ConcurrentMap<String, Counter> counters;
+    private final ConcurrentMap<String, LongSupplier> gauges;
+
+    public MetricsRegistry() {
+        histograms = new ConcurrentSkipListMap<>();
+        counters = new ConcurrentSkipListMap<>();
+        gauges = new ConcurrentSkipListMap<>();
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    @Override
+    public Map<String, Long> getValues() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        return values;
+    }
+
+    @Override
+    public Map<String, LatencySummary> getLatencies() {
+        Map<String, LatencySummary> latencies = new TreeMap<>();
+        histograms.forEach((name, histogram) -> latencies.put(name, histogram.summary()));
+        return latencies;
+    }
+
+    public void registerMBean(String name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(this, new ObjectName("com.polylines:type=Metrics,name=" + name));
+        } catch (JMException e) {
+            throw new IllegalStateException("The metrics could not be exposed through JMX.", e);
+        }
+    }
+
+    public void dump(PrintStream out) {
+        getValues().forEach((name, value) -> out.println(String.format("%s: %d", name, value)));
+        getLatencies().forEach((name, latency) -> out.println(String.format(
+                "%s: count=%d mean=%.3f ms p50=%.3f ms p99=%.3f ms max=%.3f ms",
+                name,
+                latency.getCount(),
+                latency.getMean() / NANOS_PER_MILLI,
+                latency.getP50() / NANOS_PER_MILLI,
+                latency.getP99() / NANOS_PER_MILLI,
+                latency.getMax() / NANOS_PER_MILLI)));
+    }
+}
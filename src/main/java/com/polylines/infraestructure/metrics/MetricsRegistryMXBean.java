@@ -0,0 +1,11 @@
+package com.polylines.infraestructure.metrics;
+
+import java.util.Map;
+
+public interface MetricsRegistryMXBean {
+
+    //Counters and gauges by name
+    Map<String, Long> getValues();
+
+    Map<String, LatencySummary> getLatencies();
+}
@@ -0,0 +1,75 @@
+package com.polylines.infraestructure.particletrace;
+
+import static com.polylines.infraestructure.particletrace.ParticleTraceFormat.COUNT_OFFSET;
+import static com.polylines.infraestructure.particletrace.ParticleTraceFormat.HEADER_BYTES;
+import static com.polylines.infraestructure.particletrace.ParticleTraceFormat.MAGIC;
+import static com.polylines.infraestructure.particletrace.ParticleTraceFormat.METERS_OFFSET;
+import static com.polylines.infraestructure.particletrace.ParticleTraceFormat.SAMPLE_BYTES;
+import static com.polylines.infraestructure.particletrace.ParticleTraceFormat.VALUE_OFFSET;
+import static com.polylines.infraestructure.particletrace.ParticleTraceFormat.VERSION;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+//A recorded trace mapped read-only in chunks of up to 1 GB, so files of any size are read in place by the page cache
+//and never copied onto the heap. Reads are absolute, so any number of robots can replay one trace at once.
+public class ParticleTrace {
+
+    private static final int SAMPLES_PER_CHUNK = (1 << 30) / SAMPLE_BYTES;
+
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+
+    private ParticleTrace(MappedByteBuffer[] chunks, long size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    public static ParticleTrace open(Path file) throws IOException {
+        //The mappings stay valid once the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a particle trace: " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a particle trace: " + file);
+            }
+            long size = header.getLong(COUNT_OFFSET);
+            if (size < 0 || HEADER_BYTES + size * SAMPLE_BYTES > channel.size()) {
+                throw new IOException("The particle trace is truncated: " + file);
+            }
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((size + SAMPLES_PER_CHUNK - 1) / SAMPLES_PER_CHUNK)];
+            for (int c = 0; c < chunks.length; c++) {
+                long first = (long) c * SAMPLES_PER_CHUNK;
+                long samples = Math.min(SAMPLES_PER_CHUNK, size - first);
+                chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + first * SAMPLE_BYTES, samples * SAMPLE_BYTES);
+            }
+            return new ParticleTrace(chunks, size);
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public double metersAt(long sample) {
+        return chunkOf(sample).getDouble(offsetOf(sample) + METERS_OFFSET);
+    }
+
+    public float valueAt(long sample) {
+        return chunkOf(sample).getFloat(offsetOf(sample) + VALUE_OFFSET);
+    }
+
+    private MappedByteBuffer chunkOf(long sample) {
+        return chunks[(int) (sample / SAMPLES_PER_CHUNK)];
+    }
+
+    private static int offsetOf(long sample) {
+        return (int) (sample % SAMPLES_PER_CHUNK) * SAMPLE_BYTES;
+    }
+}
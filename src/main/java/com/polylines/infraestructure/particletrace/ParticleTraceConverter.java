@@ -0,0 +1,62 @@
+package com.polylines.infraestructure.particletrace;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Path;
+
+//Converts "position,level" CSV lines to a binary trace. The position is either the travelled meters or an epoch
+//millisecond timestamp, which becomes meters at the robot's constant speed. A header line and blank lines are skipped.
+public class ParticleTraceConverter {
+
+    private static final double MILLIS_PER_SECOND = 1000;
+
+    private ParticleTraceConverter() {
+    }
+
+    //Returns the number of samples written
+    public static long fromDistances(BufferedReader csv, Path trace) throws IOException {
+        return convert(csv, trace, Double.NaN);
+    }
+
+    public static long fromTimestamps(BufferedReader csv, Path trace, double metersPerSecond) throws IOException {
+        if (!(metersPerSecond > 0)) {
+            throw new IllegalArgumentException("The speed should be positive.");
+        }
+        return convert(csv, trace, metersPerSecond);
+    }
+
+    private static long convert(BufferedReader csv, Path trace, double metersPerSecond) throws IOException {
+        try (ParticleTraceWriter writer = new ParticleTraceWriter(trace)) {
+            double firstPosition = Double.NaN;
+            int lineNumber = 0;
+            for (String line = csv.readLine(); line != null; line = csv.readLine()) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                int comma = line.indexOf(',');
+                if (comma < 0) {
+                    throw new IllegalArgumentException("Line " + lineNumber + " is not a position and a level.");
+                }
+                double position;
+                float value;
+                try {
+                    position = Double.parseDouble(line.substring(0, comma).trim());
+                    value = Float.parseFloat(line.substring(comma + 1).trim());
+                } catch (NumberFormatException e) {
+                    if (lineNumber == 1) {
+                        continue;
+                    }
+                    throw new IllegalArgumentException("Line " + lineNumber + " is not a position and a level.", e);
+                }
+                if (Double.isNaN(firstPosition)) {
+                    firstPosition = position;
+                }
+                writer.append(Double.isNaN(metersPerSecond)
+                        ? position
+                        : (position - firstPosition) / MILLIS_PER_SECOND * metersPerSecond, value);
+            }
+            return writer.getCount();
+        }
+    }
+}
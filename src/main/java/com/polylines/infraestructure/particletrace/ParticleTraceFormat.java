@@ -0,0 +1,18 @@
+package com.polylines.infraestructure.particletrace;
+
+//Header: magic int, version int and sample count long
+//Sample layout: travelled meters double and particle level float, sorted by meters
+final class ParticleTraceFormat {
+
+    static final int MAGIC = 0x50545243;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int COUNT_OFFSET = 8;
+
+    static final int SAMPLE_BYTES = 12;
+    static final int METERS_OFFSET = 0;
+    static final int VALUE_OFFSET = 8;
+
+    private ParticleTraceFormat() {
+    }
+}
@@ -0,0 +1,78 @@
+package com.polylines.infraestructure.particletrace;
+
+import static com.polylines.infraestructure.particletrace.ParticleTraceFormat.COUNT_OFFSET;
+import static com.polylines.infraestructure.particletrace.ParticleTraceFormat.HEADER_BYTES;
+import static com.polylines.infraestructure.particletrace.ParticleTraceFormat.MAGIC;
+import static com.polylines.infraestructure.particletrace.ParticleTraceFormat.SAMPLE_BYTES;
+import static com.polylines.infraestructure.particletrace.ParticleTraceFormat.VERSION;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+//Streams samples to a new trace file through a small buffer; the count in the header is written on close
+public class ParticleTraceWriter implements Closeable {
+
+    private static final int SAMPLES_PER_WRITE = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long count;
+    private double lastMeters;
+
+    public ParticleTraceWriter(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        buffer = ByteBuffer.allocate(SAMPLES_PER_WRITE * SAMPLE_BYTES);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putLong(0).flip();
+        write(header);
+        lastMeters = Double.NEGATIVE_INFINITY;
+    }
+
+    public void append(double meters, float value) throws IOException {
+        if (!(meters >= lastMeters)) {
+            throw new IllegalArgumentException("The samples should be sorted by travelled meters, but " + meters
+                    + " comes after " + lastMeters + ".");
+        }
+        if (buffer.remaining() < SAMPLE_BYTES) {
+            flushBuffer();
+        }
+        buffer.putDouble(meters).putFloat(value);
+        lastMeters = meters;
+        count++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+            ByteBuffer header = ByteBuffer.allocate(Long.BYTES);
+            header.putLong(count).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, COUNT_OFFSET + header.position());
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        write(buffer);
+        buffer.clear();
+    }
+
+    private void write(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.polylines.infraestructure.reportprinting;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import com.polylines.domain.reporting.Report;
+import com.polylines.domain.reporting.ReportPrinter;
+
+//Queues reports in a bounded ring and prints them on dedicated consumer threads, so generating never waits on I/O.
+//With more than one consumer the delegate printer must be thread-safe. Reports printed once it is closed are dropped.
+public class AsyncReportPrinter implements ReportPrinter, Closeable {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final ReportPrinter delegate;
+    private final OverflowPolicy policy;
+    private final ReportRingBuffer queue;
+    private final List<Thread> consumers;
+    private final AtomicLong dropped;
+    private final AtomicLong printed;
+    private final AtomicLong failed;
+    private final AtomicInteger offering;
+    private volatile boolean closed;
+
+    public AsyncReportPrinter(ReportPrinter delegate, int capacity, OverflowPolicy policy) {
+        this(delegate, capacity, policy, 1);
+    }
+
+    public AsyncReportPrinter(ReportPrinter delegate, int capacity, OverflowPolicy policy, int consumerThreads) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.queue = new ReportRingBuffer(capacity);
+        this.dropped = new AtomicLong();
+        this.printed = new AtomicLong();
+        this.failed = new AtomicLong();
+        this.offering = new AtomicInteger();
+        this.consumers = new ArrayList<>(consumerThreads);
+        for (int i = 0; i < consumerThreads; i++) {
+            Thread consumer = new Thread(this::consume, "report-printer-" + i);
+            consumer.setDaemon(true);
+            consumers.add(consumer);
+            consumer.start();
+        }
+    }
+
+    @Override
+    public void print(Report report) {
+        //Announced before checking closed, so close either sees this offer and waits for it or it is rejected
+        offering.incrementAndGet();
+        try {
+            if (closed || !queue.offer(report, policy)) {
+                dropped.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.incrementAndGet();
+        } finally {
+            offering.decrementAndGet();
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getDroppedReports() {
+        return dropped.get();
+    }
+
+    public long getPrintedReports() {
+        return printed.get();
+    }
+
+    public long getFailedReports() {
+        return failed.get();
+    }
+
+    //Stops accepting reports and waits until the consumers have printed every queued one, including those being
+    //queued while it closed. Producers still running afterwards have their reports counted as dropped.
+    @Override
+    public void close() {
+        closed = true;
+        //The consumers keep taking reports meanwhile, so an offer blocked on a full ring gets through
+        while (offering.get() > 0) {
+            Thread.yield();
+        }
+        for (Thread consumer : consumers) {
+            try {
+                consumer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void consume() {
+        try {
+            while (true) {
+                Report report = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (report != null) {
+                    printSafely(report);
+                } else if (closed && offering.get() == 0 && queue.size() == 0) {
+                    //Nothing can be queued any more once closed with no offer on the way
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void printSafely(Report report) {
+        try {
+            delegate.print(report);
+            printed.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.polylines.infraestructure.reportprinting;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+public class ChannelReportOutput implements ReportOutput {
+
+    private final WritableByteChannel channel;
+
+    public ChannelReportOutput(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public static ChannelReportOutput standardOutput() {
+        return new ChannelReportOutput(new FileOutputStream(FileDescriptor.out).getChannel());
+    }
+
+    @Override
+    public void write(ByteBuffer lines) throws IOException {
+        while (lines.hasRemaining()) {
+            channel.write(lines);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
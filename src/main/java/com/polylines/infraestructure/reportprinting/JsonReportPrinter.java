@@ -2,19 +2,39 @@ package com.polylines.infraestructure.reportprinting;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.polylines.domain.reporting.Report;
 import com.polylines.domain.reporting.ReportPrinter;
+import com.polylines.infraestructure.metrics.LatencyHistogram;
 
 public class JsonReportPrinter implements ReportPrinter {
 
+    //ObjectWriter is immutable and thread-safe, so every printer shares one instead of building a mapper per report
+    private static final ObjectWriter WRITER = new ObjectMapper().writerFor(Report.class);
+
+    private final LatencyHistogram serializationLatency;
+
+    public JsonReportPrinter() {
+        this(new LatencyHistogram());
+    }
+
+    public JsonReportPrinter(LatencyHistogram serializationLatency) {
+        this.serializationLatency = serializationLatency;
+    }
+
     @Override
     public void print(Report report) {
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            String json = mapper.writeValueAsString(report);
+            long start = System.nanoTime();
+            String json = WRITER.writeValueAsString(report);
+            serializationLatency.recordSince(start);
             System.out.println(json);
         } catch (JsonProcessingException e) {
             e.printStackTrace();
         }
     }
+
+    public LatencyHistogram getSerializationLatency() {
+        return serializationLatency;
+    }
 }
@@ -0,0 +1,165 @@
+package com.polylines.infraestructure.reportprinting;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import com.polylines.domain.reporting.Report;
+import com.polylines.domain.reporting.ReportPrinter;
+import com.polylines.infraestructure.metrics.LatencyHistogram;
+
+//One JSON report per line, buffered and written when the buffer is full or the flush interval has passed. A timer
+//writes what is buffered every interval too, so the last reports do not wait for the next one to be printed. Close
+//the printer once done: the reports still buffered are only written then.
+public class NdjsonReportPrinter implements ReportPrinter, Flushable, Closeable {
+
+    private static final int DEFAULT_BUFFER_BYTES = 1 << 20;
+    private static final long DEFAULT_FLUSH_INTERVAL_SECONDS = 1;
+    //Shared by every printer; a flush only holds it while its own output is written
+    private static final ScheduledExecutorService FLUSH_TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ndjson-flush-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ReportOutput output;
+    private final ByteBuffer buffer;
+    private final long flushIntervalNanos;
+    private final ReportJsonWriter jsonWriter;
+    private final LatencyHistogram serializationLatency;
+    private final FlushTimer flushTimer;
+    private long lastFlushNanos;
+    private long failedFlushes;
+
+    public NdjsonReportPrinter(ReportOutput output) {
+        this(output, DEFAULT_BUFFER_BYTES, DEFAULT_FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public NdjsonReportPrinter(ReportOutput output, LatencyHistogram serializationLatency) {
+        this(output, DEFAULT_BUFFER_BYTES, DEFAULT_FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS, serializationLatency);
+    }
+
+    public NdjsonReportPrinter(ReportOutput output, int bufferBytes, long flushInterval, TimeUnit flushIntervalUnit) {
+        this(output, bufferBytes, flushInterval, flushIntervalUnit, new LatencyHistogram());
+    }
+
+    public NdjsonReportPrinter(ReportOutput output, int bufferBytes, long flushInterval, TimeUnit flushIntervalUnit,
+                               LatencyHistogram serializationLatency) {
+        this.output = output;
+        this.buffer = ByteBuffer.allocateDirect(bufferBytes);
+        this.flushIntervalNanos = flushIntervalUnit.toNanos(flushInterval);
+        this.jsonWriter = new ReportJsonWriter();
+        this.serializationLatency = serializationLatency;
+        this.lastFlushNanos = System.nanoTime();
+        this.flushTimer = new FlushTimer(this);
+        flushTimer.schedule(flushIntervalNanos);
+    }
+
+    @Override
+    public synchronized void print(Report report) {
+        long start = System.nanoTime();
+        CharSequence json = jsonWriter.toJson(report);
+        serializationLatency.recordSince(start);
+        if (buffer.remaining() < json.length() + 1) {
+            flush();
+        }
+        if (buffer.remaining() < json.length() + 1) {
+            throw new IllegalStateException("The report does not fit in the output buffer.");
+        }
+        //The JSON writer escapes everything outside ASCII, so every char is one byte
+        for (int i = 0; i < json.length(); i++) {
+            buffer.put((byte) json.charAt(i));
+        }
+        buffer.put((byte) '\n');
+        flushIfDue();
+    }
+
+    public LatencyHistogram getSerializationLatency() {
+        return serializationLatency;
+    }
+
+    //Writes that failed; their reports stay buffered for the next flush
+    public synchronized long getFailedFlushes() {
+        return failedFlushes;
+    }
+
+    public synchronized void flushIfDue() {
+        if (System.nanoTime() - lastFlushNanos >= flushIntervalNanos) {
+            flush();
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        buffer.flip();
+        try {
+            if (buffer.hasRemaining()) {
+                output.write(buffer);
+            }
+            buffer.clear();
+        } catch (IOException e) {
+            failedFlushes++;
+            //What the output took before failing is not written again; the rest waits for the next flush
+            buffer.compact();
+            throw new UncheckedIOException(e);
+        } finally {
+            lastFlushNanos = System.nanoTime();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flushTimer.cancel();
+        flush();
+        output.close();
+    }
+
+    private synchronized void flushIfPending() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        try {
+            flush();
+        } catch (UncheckedIOException e) {
+            //Counted, and retried on the next interval
+        }
+    }
+
+    //Holds the printer weakly, so the timer does not keep one that is never closed from being collected
+    private static final class FlushTimer implements Runnable {
+
+        private final WeakReference<NdjsonReportPrinter> printer;
+        private volatile ScheduledFuture<?> future;
+
+        private FlushTimer(NdjsonReportPrinter printer) {
+            this.printer = new WeakReference<>(printer);
+        }
+
+        private void schedule(long intervalNanos) {
+            future = FLUSH_TIMER.scheduleAtFixedRate(this, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private void cancel() {
+            ScheduledFuture<?> scheduled = future;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            NdjsonReportPrinter current = printer.get();
+            if (current == null) {
+                cancel();
+            } else {
+                current.flushIfPending();
+            }
+        }
+    }
+}
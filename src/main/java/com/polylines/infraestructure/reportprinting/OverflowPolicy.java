@@ -0,0 +1,7 @@
+package com.polylines.infraestructure.reportprinting;
+
+public enum OverflowPolicy {
+    BLOCK,
+    DROP_OLDEST,
+    DROP_NEWEST
+}
@@ -0,0 +1,55 @@
+package com.polylines.infraestructure.reportprinting;
+
+import com.polylines.domain.reporting.Report;
+
+//Writes the fixed Report shape with the same field order and number format as Jackson, reusing one builder
+public class ReportJsonWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final StringBuilder line;
+
+    public ReportJsonWriter() {
+        line = new StringBuilder(128);
+    }
+
+    public CharSequence toJson(Report report) {
+        line.setLength(0);
+        line.append("{\"timestamp\":").append(report.getTimestamp());
+        line.append(",\"location\":");
+        if (report.getLocation() == null) {
+            line.append("null");
+        } else {
+            line.append("{\"lat\":").append(report.getLocation().getLat())
+                    .append(",\"lng\":").append(report.getLocation().getLng())
+                    .append('}');
+        }
+        line.append(",\"level\":");
+        appendString(report.getLevel() == null ? null : report.getLevel().name());
+        line.append(",\"source\":");
+        appendString(report.getSource());
+        line.append(",\"robotId\":").append(report.getRobotId());
+        line.append('}');
+        return line;
+    }
+
+    private void appendString(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                line.append("\\u").append(HEX[c >> 12 & 0xf]).append(HEX[c >> 8 & 0xf])
+                        .append(HEX[c >> 4 & 0xf]).append(HEX[c & 0xf]);
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,11 @@
+package com.polylines.infraestructure.reportprinting;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public interface ReportOutput extends Closeable {
+
+    //Writes every remaining byte of the buffer, which always holds whole lines
+    void write(ByteBuffer lines) throws IOException;
+}
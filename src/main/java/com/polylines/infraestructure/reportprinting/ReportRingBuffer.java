@@ -0,0 +1,91 @@
+package com.polylines.infraestructure.reportprinting;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import com.polylines.domain.reporting.Report;
+
+class ReportRingBuffer {
+
+    private final Report[] slots;
+    private final ReentrantLock lock;
+    private final Condition notEmpty;
+    private final Condition notFull;
+    private int head;
+    private int size;
+
+    ReportRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The report queue needs room for at least one report.");
+        }
+        slots = new Report[capacity];
+        lock = new ReentrantLock();
+        notEmpty = lock.newCondition();
+        notFull = lock.newCondition();
+    }
+
+    //Returns false when a report, the new one or the oldest, had to be dropped to make room
+    boolean offer(Report report, OverflowPolicy policy) throws InterruptedException {
+        lock.lock();
+        try {
+            if (size == slots.length) {
+                switch (policy) {
+                    case DROP_NEWEST:
+                        return false;
+                    case DROP_OLDEST:
+                        removeHead();
+                        add(report);
+                        return false;
+                    default:
+                        while (size == slots.length) {
+                            notFull.await();
+                        }
+                }
+            }
+            add(report);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Report poll(long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            long nanos = unit.toNanos(timeout);
+            while (size == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return removeHead();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(Report report) {
+        slots[(head + size) % slots.length] = report;
+        size++;
+        notEmpty.signal();
+    }
+
+    private Report removeHead() {
+        Report report = slots[head];
+        slots[head] = null;
+        head = (head + 1) % slots.length;
+        size--;
+        notFull.signal();
+        return report;
+    }
+}
@@ -0,0 +1,57 @@
+package com.polylines.infraestructure.reportprinting;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+//Appends to <prefix>-00000.ndjson, <prefix>-00001.ndjson... starting a new file once the current one is full
+public class RotatingFileReportOutput implements ReportOutput {
+
+    private final Path directory;
+    private final String prefix;
+    private final long maxBytesPerFile;
+    private FileChannel current;
+    private int fileIndex;
+
+    public RotatingFileReportOutput(Path directory, String prefix, long maxBytesPerFile) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.prefix = prefix;
+        this.maxBytesPerFile = maxBytesPerFile;
+        this.fileIndex = -1;
+    }
+
+    @Override
+    public void write(ByteBuffer lines) throws IOException {
+        if (current == null || current.size() > 0 && current.size() + lines.remaining() > maxBytesPerFile) {
+            rotate();
+        }
+        while (lines.hasRemaining()) {
+            current.write(lines);
+        }
+    }
+
+    public Path currentFile() {
+        return fileAt(fileIndex);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private void rotate() throws IOException {
+        close();
+        fileIndex++;
+        current = FileChannel.open(fileAt(fileIndex),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path fileAt(int index) {
+        return directory.resolve(String.format("%s-%05d.ndjson", prefix, index));
+    }
+}
@@ -0,0 +1,169 @@
+package com.polylines.infraestructure.reportstore;
+
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.CAPACITY_OFFSET;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.COUNT_OFFSET;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.HEADER_BYTES;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.LATENESS_OFFSET;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.LAT_OFFSET;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.LEVEL_OFFSET;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.LNG_OFFSET;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.MAGIC;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.MAX_TIMESTAMP_OFFSET;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.MIN_TIMESTAMP_OFFSET;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.RECORD_BYTES;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.ROBOT_ID_OFFSET;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.TIMESTAMP_OFFSET;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.VERSION;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import com.polylines.domain.reporting.Location;
+import com.polylines.domain.reporting.Report;
+import com.polylines.domain.reporting.ReportPrinter;
+
+//Appends reports as fixed size binary records to <prefix>-00000.bin, <prefix>-00001.bin... memory-mapped segments,
+//continuing the last segment of an existing log
+public class MappedReportLog implements ReportPrinter, Closeable {
+
+    private static final int DEFAULT_RECORDS_PER_SEGMENT = 1 << 20;
+
+    private final Path directory;
+    private final String prefix;
+    private final int recordsPerSegment;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private int capacity;
+    private int count;
+    //Latest timestamp in the whole log, which the lateness of every new record is measured against
+    private long latestTimestamp;
+    private long segmentMinTimestamp;
+    private long segmentMaxTimestamp;
+    private long segmentLateness;
+    private boolean closed;
+
+    public MappedReportLog(Path directory, String prefix) throws IOException {
+        this(directory, prefix, DEFAULT_RECORDS_PER_SEGMENT);
+    }
+
+    public MappedReportLog(Path directory, String prefix, int recordsPerSegment) throws IOException {
+        if (recordsPerSegment < 1 || recordsPerSegment > (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES) {
+            throw new IllegalArgumentException("A segment must hold at least one record and fit in a single mapping.");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.prefix = prefix;
+        this.recordsPerSegment = recordsPerSegment;
+        this.latestTimestamp = Long.MIN_VALUE;
+        List<Integer> existing = ReportLogFormat.segmentIndexes(directory, prefix);
+        if (existing.isEmpty()) {
+            openNewSegment(0);
+        } else {
+            reopenLastSegment(existing);
+        }
+    }
+
+    @Override
+    public synchronized void print(Report report) {
+        if (closed) {
+            throw new IllegalStateException("The report log is closed.");
+        }
+        if (count == capacity) {
+            try {
+                openNewSegment(segmentIndex + 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        //Reports of the same round are stamped by several threads a few milliseconds apart and may arrive out of order.
+        //They keep their own timestamp; how late they are is recorded so the reader can widen its searches by as much.
+        long timestamp = report.getTimestamp();
+        if (timestamp < latestTimestamp) {
+            segmentLateness = Math.max(segmentLateness, latestTimestamp - timestamp);
+        }
+        latestTimestamp = Math.max(latestTimestamp, timestamp);
+        segmentMinTimestamp = Math.min(segmentMinTimestamp, timestamp);
+        segmentMaxTimestamp = Math.max(segmentMaxTimestamp, timestamp);
+        Location location = report.getLocation();
+        int offset = ReportLogFormat.recordOffset(count);
+        segment.putLong(offset + TIMESTAMP_OFFSET, timestamp);
+        segment.putDouble(offset + LAT_OFFSET, location == null ? Double.NaN : location.getLat());
+        segment.putDouble(offset + LNG_OFFSET, location == null ? Double.NaN : location.getLng());
+        segment.putInt(offset + ROBOT_ID_OFFSET, report.getRobotId());
+        segment.put(offset + LEVEL_OFFSET, ReportLogFormat.levelToByte(report.getLevel()));
+        segment.putLong(MIN_TIMESTAMP_OFFSET, segmentMinTimestamp);
+        segment.putLong(MAX_TIMESTAMP_OFFSET, segmentMaxTimestamp);
+        segment.putLong(LATENESS_OFFSET, segmentLateness);
+        //The count is published after the record, so a reader never sees a half written one
+        count++;
+        segment.putInt(COUNT_OFFSET, count);
+    }
+
+    public synchronized void flush() {
+        if (!closed) {
+            segment.force();
+        }
+    }
+
+    public synchronized Path currentSegment() {
+        return ReportLogFormat.segmentFile(directory, prefix, segmentIndex);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            segment.force();
+            segment = null;
+            closed = true;
+        }
+    }
+
+    private void openNewSegment(int index) throws IOException {
+        if (segment != null) {
+            segment.force();
+        }
+        segmentIndex = index;
+        capacity = recordsPerSegment;
+        count = 0;
+        segment = ReportLogFormat.map(ReportLogFormat.segmentFile(directory, prefix, index),
+                FileChannel.MapMode.READ_WRITE, ReportLogFormat.recordOffset(capacity));
+        segment.putInt(0, MAGIC);
+        segment.putInt(4, VERSION);
+        segment.putInt(CAPACITY_OFFSET, capacity);
+        segmentMinTimestamp = Long.MAX_VALUE;
+        segmentMaxTimestamp = Long.MIN_VALUE;
+        segmentLateness = 0;
+        segment.putLong(MIN_TIMESTAMP_OFFSET, segmentMinTimestamp);
+        segment.putLong(MAX_TIMESTAMP_OFFSET, segmentMaxTimestamp);
+        segment.putLong(LATENESS_OFFSET, segmentLateness);
+        segment.putInt(COUNT_OFFSET, 0);
+    }
+
+    //A segment of a log that was kept sorted is left as it is and the log goes on in a new one
+    private void reopenLastSegment(List<Integer> indexes) throws IOException {
+        for (int index : indexes) {
+            Path file = ReportLogFormat.segmentFile(directory, prefix, index);
+            MappedByteBuffer existing = ReportLogFormat.map(file, FileChannel.MapMode.READ_ONLY, Files.size(file));
+            ReportLogFormat.checkHeader(existing, file);
+            latestTimestamp = Math.max(latestTimestamp, ReportLogFormat.maxTimestamp(existing));
+        }
+        int index = indexes.get(indexes.size() - 1);
+        Path file = ReportLogFormat.segmentFile(directory, prefix, index);
+        segment = ReportLogFormat.map(file, FileChannel.MapMode.READ_WRITE, Files.size(file));
+        if (segment.getInt(4) != VERSION) {
+            segment = null;
+            openNewSegment(index + 1);
+            return;
+        }
+        segmentIndex = index;
+        capacity = segment.getInt(CAPACITY_OFFSET);
+        count = segment.getInt(COUNT_OFFSET);
+        segmentMinTimestamp = ReportLogFormat.minTimestamp(segment);
+        segmentMaxTimestamp = ReportLogFormat.maxTimestamp(segment);
+        segmentLateness = ReportLogFormat.lateness(segment);
+    }
+}
@@ -0,0 +1,170 @@
+package com.polylines.infraestructure.reportstore;
+
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.COUNT_OFFSET;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.LAT_OFFSET;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.LEVEL_OFFSET;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.LNG_OFFSET;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.ROBOT_ID_OFFSET;
+import static com.polylines.infraestructure.reportstore.ReportLogFormat.TIMESTAMP_OFFSET;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import com.polylines.domain.reporting.Location;
+import com.polylines.domain.reporting.Report;
+import com.polylines.domain.robot.Robot;
+
+//Maps every segment of a report log read-only and sees the records written up to the moment it was opened.
+//Records are in the order they arrived, which is sorted by timestamp but for the few that came late. No record is
+//later than the log's lateness, so time ranges are still found by binary search, just widened by it, and scanned in
+//place.
+public class MappedReportLogReader {
+
+    private final MappedByteBuffer[] segments;
+    //firstIndexes[s] is the log index of the first record of segment s, with the total size as the last entry
+    private final long[] firstIndexes;
+    private final long[] minTimestamps;
+    private final long[] maxTimestamps;
+    private final long lateness;
+
+    public MappedReportLogReader(Path directory, String prefix) throws IOException {
+        List<Integer> indexes = ReportLogFormat.segmentIndexes(directory, prefix);
+        segments = new MappedByteBuffer[indexes.size()];
+        firstIndexes = new long[indexes.size() + 1];
+        minTimestamps = new long[indexes.size()];
+        maxTimestamps = new long[indexes.size()];
+        long latest = 0;
+        for (int s = 0; s < segments.length; s++) {
+            Path file = ReportLogFormat.segmentFile(directory, prefix, indexes.get(s));
+            segments[s] = ReportLogFormat.map(file, FileChannel.MapMode.READ_ONLY, Files.size(file));
+            ReportLogFormat.checkHeader(segments[s], file);
+            //The header is written before the count, so it covers at least the records counted
+            firstIndexes[s + 1] = firstIndexes[s] + segments[s].getInt(COUNT_OFFSET);
+            minTimestamps[s] = ReportLogFormat.minTimestamp(segments[s]);
+            maxTimestamps[s] = ReportLogFormat.maxTimestamp(segments[s]);
+            latest = Math.max(latest, ReportLogFormat.lateness(segments[s]));
+        }
+        lateness = latest;
+    }
+
+    public long size() {
+        return firstIndexes[segments.length];
+    }
+
+    //How much earlier than a record before it any record of the log may be stamped
+    public long lateness() {
+        return lateness;
+    }
+
+    public long timestampAt(long index) {
+        int s = segmentOf(index);
+        return segments[s].getLong(offsetOf(s, index) + TIMESTAMP_OFFSET);
+    }
+
+    public Report reportAt(long index) {
+        int s = segmentOf(index);
+        int offset = offsetOf(s, index);
+        MappedByteBuffer segment = segments[s];
+        return new Report(
+                segment.getLong(offset + TIMESTAMP_OFFSET),
+                new Location(segment.getDouble(offset + LAT_OFFSET), segment.getDouble(offset + LNG_OFFSET)),
+                ReportLogFormat.levelFromByte(segment.get(offset + LEVEL_OFFSET)),
+                Robot.SOURCE,
+                segment.getInt(offset + ROBOT_ID_OFFSET));
+    }
+
+    //No record before this index is stamped at or after the given time; in a sorted log it is the first one that is.
+    //A record stamped more than the lateness before the time has only earlier records before it, which is what the
+    //search looks for, so it stays a binary search even though the timestamps are not quite sorted.
+    public long firstIndexAtOrAfter(long timestamp) {
+        long low = 0;
+        long high = size();
+        long bound = saturatedAdd(timestamp, -lateness);
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (timestampAt(middle) < bound) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public long count(long fromTimestamp, long toTimestamp) {
+        if (lateness == 0) {
+            return firstIndexAtOrAfter(toTimestamp) - firstIndexAtOrAfter(fromTimestamp);
+        }
+        return scan(fromTimestamp, toTimestamp, (timestamp, lat, lng, level, robotId) -> { });
+    }
+
+    //Visits the records stamped in [fromTimestamp, toTimestamp) in log order and returns how many there were.
+    //Past a record stamped the lateness after the range, every record is stamped after it too.
+    public long scan(long fromTimestamp, long toTimestamp, ReportRecordVisitor visitor) {
+        long index = firstIndexAtOrAfter(fromTimestamp);
+        long until = saturatedAdd(toTimestamp, lateness);
+        long visited = 0;
+        for (int s = index < size() ? segmentOf(index) : segments.length; s < segments.length; s++) {
+            MappedByteBuffer segment = segments[s];
+            int records = (int) (firstIndexes[s + 1] - firstIndexes[s]);
+            if (maxTimestamps[s] < fromTimestamp || minTimestamps[s] >= toTimestamp) {
+                if (records > 0 && minTimestamps[s] >= until) {
+                    return visited;
+                }
+                index = firstIndexes[s + 1];
+                continue;
+            }
+            for (int record = (int) (index - firstIndexes[s]); record < records; record++) {
+                int offset = ReportLogFormat.recordOffset(record);
+                long timestamp = segment.getLong(offset + TIMESTAMP_OFFSET);
+                if (timestamp >= until) {
+                    return visited;
+                }
+                if (timestamp < fromTimestamp || timestamp >= toTimestamp) {
+                    continue;
+                }
+                visitor.visit(
+                        timestamp,
+                        segment.getDouble(offset + LAT_OFFSET),
+                        segment.getDouble(offset + LNG_OFFSET),
+                        ReportLogFormat.levelFromByte(segment.get(offset + LEVEL_OFFSET)),
+                        segment.getInt(offset + ROBOT_ID_OFFSET));
+                visited++;
+            }
+            index = firstIndexes[s + 1];
+        }
+        return visited;
+    }
+
+    private static long saturatedAdd(long timestamp, long millis) {
+        long sum = timestamp + millis;
+        //Overflows only when both have the same sign and the sum does not
+        if (((timestamp ^ sum) & (millis ^ sum)) < 0) {
+            return millis < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return sum;
+    }
+
+    private int segmentOf(long index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("No report at " + index + " in a log of " + size());
+        }
+        int found = Arrays.binarySearch(firstIndexes, 0, segments.length, index);
+        if (found >= 0) {
+            //Empty segments share their first index with the next one
+            while (found + 1 < segments.length && firstIndexes[found + 1] == index) {
+                found++;
+            }
+            return found;
+        }
+        return -found - 2;
+    }
+
+    private int offsetOf(int segment, long index) {
+        return ReportLogFormat.recordOffset((int) (index - firstIndexes[segment]));
+    }
+}
@@ -0,0 +1,44 @@
+package com.polylines.infraestructure.reportstore;
+
+import com.polylines.domain.reporting.Report;
+
+//Keeps the reports of some levels stamped in [fromTimestamp, toTimestamp)
+public class ReportFilter {
+
+    private static final int ALL_LEVELS = (1 << Report.Level.values().length) - 1;
+
+    private final int levelMask;
+    private final long fromTimestamp;
+    private final long toTimestamp;
+
+    private ReportFilter(int levelMask, long fromTimestamp, long toTimestamp) {
+        this.levelMask = levelMask;
+        this.fromTimestamp = fromTimestamp;
+        this.toTimestamp = toTimestamp;
+    }
+
+    public static ReportFilter anyReport() {
+        return new ReportFilter(ALL_LEVELS, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    public ReportFilter withLevels(Report.Level... levels) {
+        int mask = 0;
+        for (Report.Level level : levels) {
+            mask |= 1 << level.ordinal();
+        }
+        return new ReportFilter(mask, fromTimestamp, toTimestamp);
+    }
+
+    public ReportFilter between(long fromTimestamp, long toTimestamp) {
+        return new ReportFilter(levelMask, fromTimestamp, toTimestamp);
+    }
+
+    boolean accepts(long timestamp, byte level) {
+        return timestamp >= fromTimestamp && timestamp < toTimestamp
+                && (level == ReportLogFormat.NO_LEVEL ? levelMask == ALL_LEVELS : (levelMask & 1 << level) != 0);
+    }
+
+    boolean mayAccept(long minTimestamp, long maxTimestamp) {
+        return maxTimestamp >= fromTimestamp && minTimestamp < toTimestamp;
+    }
+}
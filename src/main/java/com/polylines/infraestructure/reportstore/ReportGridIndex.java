@@ -0,0 +1,339 @@
+package com.polylines.infraestructure.reportstore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import com.polylines.domain.reporting.Location;
+import com.polylines.domain.reporting.Report;
+import com.polylines.domain.reporting.ReportPrinter;
+import com.polylines.domain.robot.Robot;
+import com.polylines.domain.robot.distance.DistanceKernel;
+import com.polylines.domain.robot.distance.DistanceKernels;
+
+//Buckets reports into a grid of square cells in degrees. Each cell keeps its reports column by column, so a query
+//only reads the cells it overlaps and, inside them, only the primitive columns it needs.
+//Queries do not wrap around the antimeridian.
+public class ReportGridIndex implements ReportPrinter {
+
+    private static final double DEFAULT_CELL_DEGREES = 0.01;
+    private static final double EARTH_RADIUS = 6371000;
+    private static final double METERS_PER_DEGREE = EARTH_RADIUS * Math.PI / 180;
+    private static final double MAX_LAT_FOR_LNG_SCALING = 89.9;
+
+    private final double cellDegrees;
+    private final long columns;
+    private final DistanceKernel kernel;
+    private final Map<Long, Cell> cells;
+    private final ReadWriteLock lock;
+    private long size;
+    private int minRow = Integer.MAX_VALUE;
+    private int maxRow = Integer.MIN_VALUE;
+    private int minColumn = Integer.MAX_VALUE;
+    private int maxColumn = Integer.MIN_VALUE;
+
+    public ReportGridIndex() {
+        this(DEFAULT_CELL_DEGREES);
+    }
+
+    public ReportGridIndex(double cellDegrees) {
+        if (!(cellDegrees > 0)) {
+            throw new IllegalArgumentException("The cells need a positive size.");
+        }
+        this.cellDegrees = cellDegrees;
+        this.columns = (long) Math.ceil(360 / cellDegrees) + 1;
+        this.kernel = DistanceKernels.HAVERSINE;
+        this.cells = new HashMap<>();
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    public static ReportGridIndex load(MappedReportLogReader log) {
+        ReportGridIndex index = new ReportGridIndex();
+        index.addAll(log, Long.MIN_VALUE, Long.MAX_VALUE);
+        return index;
+    }
+
+    public void addAll(MappedReportLogReader log, long fromTimestamp, long toTimestamp) {
+        lock.writeLock().lock();
+        try {
+            log.scan(fromTimestamp, toTimestamp, this::addUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void print(Report report) {
+        Location location = report.getLocation();
+        if (location == null) {
+            return;
+        }
+        add(report.getTimestamp(), location.getLat(), location.getLng(), report.getLevel(), report.getRobotId());
+    }
+
+    public void add(long timestamp, double lat, double lng, Report.Level level, int robotId) {
+        lock.writeLock().lock();
+        try {
+            addUnlocked(timestamp, lat, lng, level, robotId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //Visits the reports inside the box, edges included, and returns how many there were
+    public long withinBox(double minLat, double minLng, double maxLat, double maxLng,
+                          ReportFilter filter, ReportRecordVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            long visited = 0;
+            for (Cell cell : overlappedCells(minLat, minLng, maxLat, maxLng)) {
+                if (!filter.mayAccept(cell.minTimestamp, cell.maxTimestamp)) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size; i++) {
+                    double lat = cell.lats[i];
+                    double lng = cell.lngs[i];
+                    if (lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng
+                            && filter.accepts(cell.timestamps[i], cell.levels[i])) {
+                        cell.visit(i, visitor);
+                        visited++;
+                    }
+                }
+            }
+            return visited;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //Visits the reports at most the given meters away from the point and returns how many there were
+    public long withinRadius(double lat, double lng, double meters, ReportFilter filter, ReportRecordVisitor visitor) {
+        double latDegrees = meters / METERS_PER_DEGREE;
+        double lngDegrees = latDegrees / lngScale(Math.abs(lat) + latDegrees);
+        lock.readLock().lock();
+        try {
+            long visited = 0;
+            for (Cell cell : overlappedCells(lat - latDegrees, lng - lngDegrees, lat + latDegrees, lng + lngDegrees)) {
+                if (!filter.mayAccept(cell.minTimestamp, cell.maxTimestamp)) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size; i++) {
+                    if (filter.accepts(cell.timestamps[i], cell.levels[i])
+                            && kernel.distance(lat, lng, cell.lats[i], cell.lngs[i]) <= meters) {
+                        cell.visit(i, visitor);
+                        visited++;
+                    }
+                }
+            }
+            return visited;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //The k reports closest to the point, nearest first. Rings of cells are searched outwards from the point's cell
+    //until no unvisited cell can be closer than the k-th report found so far.
+    public List<Report> nearest(double lat, double lng, int k, ReportFilter filter) {
+        if (k <= 0) {
+            return Collections.emptyList();
+        }
+        PriorityQueue<Candidate> farthestFirst = new PriorityQueue<>(k, (a, b) -> Double.compare(b.meters, a.meters));
+        lock.readLock().lock();
+        try {
+            if (size == 0) {
+                return Collections.emptyList();
+            }
+            int row = row(lat);
+            int column = column(lng);
+            int lastRing = Math.max(
+                    Math.max(Math.abs(row - minRow), Math.abs(row - maxRow)),
+                    Math.max(Math.abs(column - minColumn), Math.abs(column - maxColumn)));
+            for (int ring = 0; ring <= lastRing; ring++) {
+                if (farthestFirst.size() == k && farthestFirst.peek().meters < ringLowerBoundMeters(lat, ring)) {
+                    break;
+                }
+                for (int r = Math.max(row - ring, minRow); r <= Math.min(row + ring, maxRow); r++) {
+                    boolean edgeRow = r == row - ring || r == row + ring;
+                    for (int c = column - ring; c <= column + ring; c += edgeRow || ring == 0 ? 1 : 2 * ring) {
+                        Cell cell = c >= minColumn && c <= maxColumn ? cells.get(key(r, c)) : null;
+                        if (cell != null && filter.mayAccept(cell.minTimestamp, cell.maxTimestamp)) {
+                            collectNearest(cell, lat, lng, k, filter, farthestFirst);
+                        }
+                    }
+                }
+            }
+            Candidate[] found = farthestFirst.toArray(new Candidate[0]);
+            Arrays.sort(found, (a, b) -> Double.compare(a.meters, b.meters));
+            List<Report> reports = new ArrayList<>(found.length);
+            for (Candidate candidate : found) {
+                reports.add(candidate.cell.report(candidate.index));
+            }
+            return reports;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collectNearest(Cell cell, double lat, double lng, int k, ReportFilter filter,
+                                PriorityQueue<Candidate> farthestFirst) {
+        for (int i = 0; i < cell.size; i++) {
+            if (!filter.accepts(cell.timestamps[i], cell.levels[i])) {
+                continue;
+            }
+            double meters = kernel.distance(lat, lng, cell.lats[i], cell.lngs[i]);
+            if (farthestFirst.size() < k) {
+                farthestFirst.add(new Candidate(meters, cell, i));
+            } else if (meters < farthestFirst.peek().meters) {
+                farthestFirst.poll();
+                farthestFirst.add(new Candidate(meters, cell, i));
+            }
+        }
+    }
+
+    //Any point in a cell of the given ring is at least ring - 1 whole cells away from the point, in latitude or in
+    //longitude. Along a meridian that is R * dLat; across meridians haversine gives at least
+    //2R * asin(cos(maxLat) * sin(dLng / 2)), with maxLat the farthest latitude the ring reaches.
+    private double ringLowerBoundMeters(double lat, int ring) {
+        if (ring <= 1) {
+            return 0;
+        }
+        double ringRadians = Math.toRadians((ring - 1) * cellDegrees);
+        double maxLat = Math.toRadians(Math.min(90, Math.abs(lat) + (ring + 1) * cellDegrees));
+        double alongMeridian = EARTH_RADIUS * ringRadians;
+        double acrossMeridians = ringRadians >= Math.PI
+                ? alongMeridian
+                : 2 * EARTH_RADIUS * Math.asin(Math.cos(maxLat) * Math.sin(ringRadians / 2));
+        return Math.min(alongMeridian, acrossMeridians);
+    }
+
+    private static double lngScale(double absLat) {
+        return Math.cos(Math.toRadians(Math.min(absLat, MAX_LAT_FOR_LNG_SCALING)));
+    }
+
+    private void addUnlocked(long timestamp, double lat, double lng, Report.Level level, int robotId) {
+        if (Double.isNaN(lat) || Double.isNaN(lng)) {
+            return;
+        }
+        int row = row(lat);
+        int column = column(lng);
+        cells.computeIfAbsent(key(row, column), key -> new Cell())
+                .add(timestamp, lat, lng, ReportLogFormat.levelToByte(level), robotId);
+        minRow = Math.min(minRow, row);
+        maxRow = Math.max(maxRow, row);
+        minColumn = Math.min(minColumn, column);
+        maxColumn = Math.max(maxColumn, column);
+        size++;
+    }
+
+    private Iterable<Cell> overlappedCells(double minLat, double minLng, double maxLat, double maxLng) {
+        int fromRow = Math.max(row(minLat), minRow);
+        int toRow = Math.min(row(maxLat), maxRow);
+        int fromColumn = Math.max(column(minLng), minColumn);
+        int toColumn = Math.min(column(maxLng), maxColumn);
+        List<Cell> overlapped = new ArrayList<>();
+        if (fromRow > toRow || fromColumn > toColumn) {
+            return overlapped;
+        }
+        //A box larger than the populated grid is cheaper to answer by walking the populated cells
+        if ((long) (toRow - fromRow + 1) * (toColumn - fromColumn + 1) > cells.size()) {
+            for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                int row = (int) (entry.getKey() / columns);
+                int column = (int) (entry.getKey() % columns);
+                if (row >= fromRow && row <= toRow && column >= fromColumn && column <= toColumn) {
+                    overlapped.add(entry.getValue());
+                }
+            }
+            return overlapped;
+        }
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                Cell cell = cells.get(key(row, column));
+                if (cell != null) {
+                    overlapped.add(cell);
+                }
+            }
+        }
+        return overlapped;
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((Math.max(-90, Math.min(90, lat)) + 90) / cellDegrees);
+    }
+
+    private int column(double lng) {
+        return (int) Math.floor((Math.max(-180, Math.min(180, lng)) + 180) / cellDegrees);
+    }
+
+    private long key(int row, int column) {
+        return row * columns + column;
+    }
+
+    private static class Cell {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private long[] timestamps = new long[INITIAL_CAPACITY];
+        private double[] lats = new double[INITIAL_CAPACITY];
+        private double[] lngs = new double[INITIAL_CAPACITY];
+        private byte[] levels = new byte[INITIAL_CAPACITY];
+        private int[] robotIds = new int[INITIAL_CAPACITY];
+        private int size;
+        private long minTimestamp = Long.MAX_VALUE;
+        private long maxTimestamp = Long.MIN_VALUE;
+
+        private void add(long timestamp, double lat, double lng, byte level, int robotId) {
+            if (size == timestamps.length) {
+                int capacity = size * 2;
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                lats = Arrays.copyOf(lats, capacity);
+                lngs = Arrays.copyOf(lngs, capacity);
+                levels = Arrays.copyOf(levels, capacity);
+                robotIds = Arrays.copyOf(robotIds, capacity);
+            }
+            timestamps[size] = timestamp;
+            lats[size] = lat;
+            lngs[size] = lng;
+            levels[size] = level;
+            robotIds[size] = robotId;
+            size++;
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+        }
+
+        private void visit(int i, ReportRecordVisitor visitor) {
+            visitor.visit(timestamps[i], lats[i], lngs[i], ReportLogFormat.levelFromByte(levels[i]), robotIds[i]);
+        }
+
+        private Report report(int i) {
+            return new Report(timestamps[i], new Location(lats[i], lngs[i]),
+                    ReportLogFormat.levelFromByte(levels[i]), Robot.SOURCE, robotIds[i]);
+        }
+    }
+
+    private static class Candidate {
+
+        private final double meters;
+        private final Cell cell;
+        private final int index;
+
+        private Candidate(double meters, Cell cell, int index) {
+            this.meters = meters;
+            this.cell = cell;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.polylines.infraestructure.reportstore;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import com.polylines.domain.reporting.Report;
+
+//Segment layout: a 64 byte header (magic, version, capacity, count, then since version 2 the min and max timestamps of
+//its records and their lateness) followed by capacity records of 32 bytes. A record's lateness is how much earlier it
+//is stamped than the latest record before it in the log; version 1 logs were kept sorted and have none.
+//Record layout: timestamp long, lat double, lng double, robot id int, level byte and 3 bytes of padding
+final class ReportLogFormat {
+
+    static final int MAGIC = 0x52504c47;
+    static final int VERSION = 2;
+    static final int SORTED_VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    static final int CAPACITY_OFFSET = 8;
+    static final int COUNT_OFFSET = 12;
+    static final int MIN_TIMESTAMP_OFFSET = 16;
+    static final int MAX_TIMESTAMP_OFFSET = 24;
+    static final int LATENESS_OFFSET = 32;
+
+    static final int RECORD_BYTES = 32;
+    static final int TIMESTAMP_OFFSET = 0;
+    static final int LAT_OFFSET = 8;
+    static final int LNG_OFFSET = 16;
+    static final int ROBOT_ID_OFFSET = 24;
+    static final int LEVEL_OFFSET = 28;
+    static final byte NO_LEVEL = -1;
+
+    private static final Report.Level[] LEVELS = Report.Level.values();
+
+    private ReportLogFormat() {
+    }
+
+    static int recordOffset(int record) {
+        return HEADER_BYTES + record * RECORD_BYTES;
+    }
+
+    static byte levelToByte(Report.Level level) {
+        return level == null ? NO_LEVEL : (byte) level.ordinal();
+    }
+
+    static Report.Level levelFromByte(byte level) {
+        return level == NO_LEVEL ? null : LEVELS[level];
+    }
+
+    static Path segmentFile(Path directory, String prefix, int index) {
+        return directory.resolve(String.format("%s-%05d.bin", prefix, index));
+    }
+
+    static List<Integer> segmentIndexes(Path directory, String prefix) throws IOException {
+        Pattern name = Pattern.compile(Pattern.quote(prefix) + "-(\\d{5})\\.bin");
+        List<Integer> indexes = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "-*.bin")) {
+            for (Path file : files) {
+                Matcher matcher = name.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    indexes.add(Integer.parseInt(matcher.group(1)));
+                }
+            }
+        }
+        Collections.sort(indexes);
+        return indexes;
+    }
+
+    static MappedByteBuffer map(Path file, FileChannel.MapMode mode, long bytes) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[] {StandardOpenOption.READ}
+                : new StandardOpenOption[] {StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE};
+        //The mapping stays valid once the channel is closed
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            return channel.map(mode, 0, bytes);
+        }
+    }
+
+    static void checkHeader(MappedByteBuffer segment, Path file) throws IOException {
+        if (segment.getInt(0) != MAGIC || (segment.getInt(4) != VERSION && segment.getInt(4) != SORTED_VERSION)) {
+            throw new IOException("Not a report log segment: " + file);
+        }
+    }
+
+    static long minTimestamp(MappedByteBuffer segment) {
+        if (segment.getInt(4) == SORTED_VERSION) {
+            return segment.getInt(COUNT_OFFSET) == 0 ? Long.MAX_VALUE : segment.getLong(recordOffset(0));
+        }
+        return segment.getLong(MIN_TIMESTAMP_OFFSET);
+    }
+
+    static long maxTimestamp(MappedByteBuffer segment) {
+        if (segment.getInt(4) == SORTED_VERSION) {
+            int count = segment.getInt(COUNT_OFFSET);
+            return count == 0 ? Long.MIN_VALUE : segment.getLong(recordOffset(count - 1));
+        }
+        return segment.getLong(MAX_TIMESTAMP_OFFSET);
+    }
+
+    static long lateness(MappedByteBuffer segment) {
+        return segment.getInt(4) == SORTED_VERSION ? 0 : segment.getLong(LATENESS_OFFSET);
+    }
+}
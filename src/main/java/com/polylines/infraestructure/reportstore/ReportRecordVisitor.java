@@ -0,0 +1,10 @@
+package com.polylines.infraestructure.reportstore;
+
+import com.polylines.domain.reporting.Report;
+
+//Receives the fields of each record straight from the mapped segment, without building a Report
+@FunctionalInterface
+public interface ReportRecordVisitor {
+
+    void visit(long timestamp, double lat, double lng, Report.Level level, int robotId);
+}
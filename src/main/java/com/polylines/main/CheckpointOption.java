@@ -0,0 +1,20 @@
+package com.polylines.main;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+//"--checkpoint=<file>" saves the fleet there every minute and resumes from it when the application starts again
+class CheckpointOption {
+
+    private static final String PREFIX = "--checkpoint=";
+
+    private CheckpointOption() {
+    }
+
+    //Null without the option
+    static Path apply(List<String> arguments) {
+        String checkpoint = Options.take(arguments, PREFIX);
+        return checkpoint == null ? null : Paths.get(checkpoint);
+    }
+}
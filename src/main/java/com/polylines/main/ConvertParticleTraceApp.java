@@ -0,0 +1,24 @@
+package com.polylines.main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import com.polylines.infraestructure.particletrace.ParticleTraceConverter;
+
+public class ConvertParticleTraceApp {
+
+    private static final String TIMESTAMPS = "--timestamps";
+    private static final double SPEED = 2;
+
+    public static void main(String[] args) throws IOException {
+
+        try (BufferedReader csv = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.US_ASCII)) {
+            long samples = args.length > 2 && TIMESTAMPS.equals(args[2])
+                    ? ParticleTraceConverter.fromTimestamps(csv, Paths.get(args[1]), SPEED)
+                    : ParticleTraceConverter.fromDistances(csv, Paths.get(args[1]));
+            System.err.println(samples + " samples written to " + args[1]);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.polylines.main;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import com.polylines.application.batch.Ticking;
+import com.polylines.application.fleet.Fleet;
+import com.polylines.application.scheduler.Scheduler;
+import com.polylines.application.scheduler.TimingWheel;
+import com.polylines.application.scheduler.WheelScheduler;
+import com.polylines.domain.heatmap.Geohash;
+import com.polylines.domain.heatmap.HeatmapTiles;
+import com.polylines.domain.heatmap.PollutionHeatmap;
+import com.polylines.domain.particlesreading.ParticleReader;
+import com.polylines.domain.reporting.ReportPrinter;
+import com.polylines.domain.robot.Robot;
+import com.polylines.domain.robot.Route;
+import com.polylines.domain.robot.RobotValidationException;
+import com.polylines.domain.telemetry.TelemetryPublisher;
+import com.polylines.infraestructure.PolylineDecoder;
+import com.polylines.infraestructure.metrics.MetricsRegistry;
+import com.polylines.infraestructure.reportprinting.AsyncReportPrinter;
+import com.polylines.infraestructure.reportprinting.ChannelReportOutput;
+import com.polylines.infraestructure.reportprinting.NdjsonReportPrinter;
+import com.polylines.infraestructure.reportprinting.OverflowPolicy;
+import com.polylines.infraestructure.reportprinting.RotatingFileReportOutput;
+import com.polylines.infraestructure.reportstore.MappedReportLog;
+
+public class MoveFleetApp {
+
+    private static final double SPEED = 2;
+    private static final int DEFAULT_FLEET_SIZE = 1000;
+    private static final long MAX_BYTES_PER_REPORT_FILE = 64L << 20;
+    private static final long SECONDS_BETWEEN_CHECKPOINTS = 60;
+
+    public static void main(String[] args) throws RobotValidationException, IOException {
+
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        IntFunction<ParticleReader> particleReaders = ParticleReaderOption.apply(arguments);
+        Path checkpoint = CheckpointOption.apply(arguments);
+        Ticking ticking = TickingOption.apply(arguments);
+        Route route = SimplifyOption.apply(PolylineDecoder.decode(arguments.get(0)), arguments);
+        int fleetSize = arguments.size() > 1 ? Integer.parseInt(arguments.get(1)) : DEFAULT_FLEET_SIZE;
+        String outputDirectory = arguments.size() > 2 ? arguments.get(2) : null;
+        //Also readable over JMX while the fleet runs
+        MetricsRegistry metrics = new MetricsRegistry();
+        metrics.registerMBean("fleet");
+        NdjsonReportPrinter reportPrinter = new NdjsonReportPrinter(outputDirectory != null
+                ? new RotatingFileReportOutput(Paths.get(outputDirectory), "reports", MAX_BYTES_PER_REPORT_FILE)
+                : ChannelReportOutput.standardOutput(), metrics.histogram("report.serialize"));
+        //Next to the JSON files, reports are also kept in a binary log that can be queried by time
+        MappedReportLog reportLog =
+                outputDirectory != null ? new MappedReportLog(Paths.get(outputDirectory), "reports") : null;
+        ReportPrinter outputs = reportLog == null ? reportPrinter : report -> {
+            reportPrinter.print(report);
+            reportLog.print(report);
+        };
+        //Room for two whole report rounds, so generating only waits if the output falls a round behind
+        AsyncReportPrinter asyncPrinter = new AsyncReportPrinter(outputs, 2 * fleetSize, OverflowPolicy.BLOCK);
+        metrics.gauge("reports.queued", asyncPrinter::getQueueDepth);
+        metrics.gauge("reports.dropped", asyncPrinter::getDroppedReports);
+        metrics.gauge("reports.failed", asyncPrinter::getFailedReports);
+
+        PollutionHeatmap heatmap = new PollutionHeatmap();
+        Fleet fleet = new Fleet(Runtime.getRuntime().availableProcessors(), TelemetryPublisher.NONE, metrics);
+        for (int i = 0; i < fleetSize; i++) {
+            fleet.add(new Robot(i, route, SPEED), particleReaders.apply(i), asyncPrinter, heatmap);
+        }
+        if (checkpoint != null && Files.exists(checkpoint)) {
+            long start = System.nanoTime();
+            int restored = fleet.restore(checkpoint);
+            System.err.println(String.format("Resumed %d robots from %s in %.1f ms",
+                    restored, checkpoint, (System.nanoTime() - start) / 1_000_000.0));
+        }
+
+        //Ticks or robot wakeups, reports, checkpoints and capacity prints share the wheel's workers instead of a
+        //thread per scheduler; when ticking every second, the robots themselves move on the fleet's workers
+        int wheelThreads = ticking == Ticking.EVENT_DRIVEN ? Runtime.getRuntime().availableProcessors() : 2;
+        TimingWheel wheel = new TimingWheel(wheelThreads, metrics.histogram("scheduler.lateness"));
+        Scheduler robotScheduler = new WheelScheduler(wheel, 1, 0, TimeUnit.SECONDS);
+        Scheduler reportingScheduler = new WheelScheduler(wheel, 15, 15, TimeUnit.MINUTES);
+        Scheduler capacityScheduler = new WheelScheduler(wheel, 1, 1, TimeUnit.MINUTES);
+        Scheduler checkpointScheduler =
+                new WheelScheduler(wheel, SECONDS_BETWEEN_CHECKPOINTS, SECONDS_BETWEEN_CHECKPOINTS, TimeUnit.SECONDS);
+        Scheduler.Task finish = () -> {
+            robotScheduler.stop();
+            reportingScheduler.stop();
+            capacityScheduler.stop();
+            checkpointScheduler.stop();
+            wheel.shutdown();
+            fleet.shutdown();
+            //A report round still running on another worker has its late reports counted as dropped
+            asyncPrinter.close();
+            reportPrinter.flush();
+            if (reportLog != null) {
+                reportLog.close();
+            }
+            //A finished journey is not resumed
+            if (checkpoint != null) {
+                deleteCheckpoint(checkpoint);
+            }
+        };
+
+        reportingScheduler.addTask(fleet::generateReports);
+        if (ticking == Ticking.EVENT_DRIVEN) {
+            long[] lastWakeups = {0};
+            capacityScheduler.addTask(() -> {
+                printWakeups(fleet, lastWakeups);
+                printWorstTile(heatmap.snapshot());
+                metrics.dump(System.err);
+            });
+            //Robots sleep on the wheel between moves, so a checkpoint takes each state between two of them
+            checkpointScheduler.addTask(() -> saveCheckpoint(fleet, checkpoint));
+        } else {
+            long[] ticks = {0};
+            robotScheduler.addTask(() -> {
+                fleet.tick();
+                //Taken on the tick's thread, so it never runs in the middle of one
+                if (checkpoint != null && ++ticks[0] % SECONDS_BETWEEN_CHECKPOINTS == 0) {
+                    saveCheckpoint(fleet, checkpoint);
+                }
+                if (fleet.allRobotsArrived()) {
+                    finish.perform();
+                }
+            });
+            capacityScheduler.addTask(() -> {
+                printCapacity(fleet);
+                printWorstTile(heatmap.snapshot());
+                metrics.dump(System.err);
+            });
+        }
+
+        reportingScheduler.start();
+        capacityScheduler.start();
+        if (ticking == Ticking.EVENT_DRIVEN) {
+            if (checkpoint != null) {
+                checkpointScheduler.start();
+            }
+            fleet.startEventDriven(wheel, finish);
+        } else {
+            robotScheduler.start();
+        }
+    }
+
+    private static void saveCheckpoint(Fleet fleet, Path checkpoint) {
+        try {
+            fleet.checkpoint(checkpoint);
+        } catch (IOException e) {
+            //The fleet keeps moving; the previous checkpoint is still there to resume from
+            e.printStackTrace();
+        }
+    }
+
+    private static void deleteCheckpoint(Path checkpoint) {
+        try {
+            Files.deleteIfExists(checkpoint);
+        } catch (IOException e) {
+            System.err.println("The checkpoint " + checkpoint + " of the finished journey could not be deleted;"
+                    + " delete it before starting again or the robots will resume from it.");
+            e.printStackTrace();
+        }
+    }
+
+    private static void printCapacity(Fleet fleet) {
+        System.err.println(String.format(
+                "Fleet of %d robots on %d threads: last tick took %.3f ms, sustainable fleet size at 1 Hz is %d robots",
+                fleet.size(),
+                fleet.getParallelism(),
+                fleet.getLastTickNanos() / 1_000_000.0,
+                fleet.getSustainableFleetSize()));
+    }
+
+    private static void printWakeups(Fleet fleet, long[] lastWakeups) {
+        long wakeups = fleet.getWakeups();
+        long everySecond = fleet.size() * TimeUnit.MINUTES.toSeconds(1);
+        System.err.println(String.format(
+                "Fleet of %d robots: %d wakeups in the last minute, %.1f%% of moving every robot every second",
+                fleet.size(),
+                wakeups - lastWakeups[0],
+                100.0 * (wakeups - lastWakeups[0]) / everySecond));
+        lastWakeups[0] = wakeups;
+    }
+
+    private static void printWorstTile(HeatmapTiles tiles) {
+        long[] worst = {0, 0, 0};
+        tiles.forEach((geohash, count, sum, max) -> {
+            if (count > 0 && (worst[1] == 0 || sum * worst[1] > worst[2] * count)) {
+                worst[0] = geohash;
+                worst[1] = count;
+                worst[2] = sum;
+            }
+        });
+        if (worst[1] > 0) {
+            System.err.println(String.format("Heatmap of %d tiles: the most polluted is %s with an average of %.1f",
+                    tiles.size(),
+                    Geohash.toString(worst[0], tiles.getPrecision()),
+                    (double) worst[2] / worst[1]));
+        }
+    }
+}
@@ -1,46 +1,95 @@
 package com.polylines.main;
 
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
 import java.util.concurrent.TimeUnit;
-import com.google.maps.model.EncodedPolyline;
+import com.polylines.application.batch.JourneySimulator;
+import com.polylines.application.batch.Ticking;
+import com.polylines.application.moverobot.EventDrivenMover;
 import com.polylines.application.moverobot.RobotPollutionCollector;
 import com.polylines.domain.robot.RobotValidationException;
-import com.polylines.domain.robot.GeoPoint;
 import com.polylines.domain.robot.Robot;
 import com.polylines.domain.observers.Observer;
 import com.polylines.domain.observers.SchedulerObserver;
 import com.polylines.domain.particlesreading.ParticleReader;
-import com.polylines.application.readparticles.RandomParticleReader;
 import com.polylines.infraestructure.reportprinting.JsonReportPrinter;
 import com.polylines.application.generatereport.ReportGeneratorService;
 import com.polylines.application.scheduler.RealScheduler;
 import com.polylines.application.scheduler.Scheduler;
-import com.polylines.infraestructure.GeoPointMapper;
+import com.polylines.application.scheduler.TimingWheel;
+import com.polylines.infraestructure.PolylineDecoder;
+import com.polylines.infraestructure.metrics.MetricsRegistry;
 
 public class MoveRobotApp {
 
     private static final double SPEED = 2;
-    private static ParticleReader particleReader = new RandomParticleReader(new Random());
-    private static JsonReportPrinter jsonReportPrinter = new JsonReportPrinter();
+    private static final String SIMULATE = "--simulate";
+    private static ParticleReader particleReader;
+    private static MetricsRegistry metrics = new MetricsRegistry();
+    private static JsonReportPrinter jsonReportPrinter = new JsonReportPrinter(metrics.histogram("report.serialize"));
 
-    public static void main(String[] args) throws RobotValidationException {
+    public static void main(String[] args) throws RobotValidationException, IOException {
 
-        String polyline = args[0];
-        Robot robot = new Robot(generateJourney(new EncodedPolyline(polyline)), SPEED);
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        particleReader = ParticleReaderOption.apply(arguments).apply(0);
+        Ticking ticking = TickingOption.apply(arguments);
+        Robot robot = new Robot(SimplifyOption.apply(PolylineDecoder.decodeLazily(arguments.get(0)), arguments), SPEED);
 
-        Scheduler robotScheduler = new RealScheduler(1, 0, TimeUnit.SECONDS);
-        Scheduler reportingScheduler = new RealScheduler(15, 15, TimeUnit.MINUTES);
+        if (arguments.size() > 1 && SIMULATE.equals(arguments.get(1))) {
+            simulate(robot);
+            return;
+        }
 
-        robot = addSchedulersAsObservers(robot, robotScheduler, reportingScheduler);
+        metrics.registerMBean("robot");
+        Scheduler reportingScheduler =
+                new RealScheduler(15, 15, TimeUnit.MINUTES, metrics.histogram("scheduler.lateness"));
+        if (ticking == Ticking.EVENT_DRIVEN) {
+            moveOnEvents(robot, reportingScheduler);
+            return;
+        }
+        Scheduler robotScheduler = new RealScheduler(1, 0, TimeUnit.SECONDS, metrics.histogram("scheduler.lateness"));
 
-        ReportGeneratorService reportGenerator = new ReportGeneratorService(robot, particleReader, jsonReportPrinter);
+        prepareApplication(robot, robotScheduler, reportingScheduler, Clock.systemUTC());
+        launchApplication(robotScheduler, reportingScheduler);
+    }
+
+    //The robot sleeps on the wheel until something happens to it; reports catch it up to the current second
+    private static void moveOnEvents(Robot robot, Scheduler reportingScheduler) {
+        TimingWheel wheel = new TimingWheel(1, metrics.histogram("scheduler.lateness"));
+        robot.registerObserver(new SchedulerObserver(reportingScheduler));
+
+        ReportGeneratorService reportGenerator =
+                new ReportGeneratorService(robot, particleReader, jsonReportPrinter, Clock.systemUTC());
+        EventDrivenMover mover = new EventDrivenMover(new RobotPollutionCollector(robot, particleReader), wheel,
+                metrics.counter("robot.wakeups"), wheel::shutdown);
+        reportingScheduler.addTask(() -> {
+            mover.catchUp();
+            reportGenerator.generate();
+        });
+
+        reportingScheduler.start();
+        mover.start();
+    }
+
+    //Reports are the same as in real time, but the robot only wakes up when something it reports on happens
+    private static void simulate(Robot robot) throws RobotValidationException {
+        new JourneySimulator(SPEED, System.currentTimeMillis(), robotId -> particleReader, Ticking.EVENT_DRIVEN)
+                .simulate(robot.getId(), robot.route, jsonReportPrinter);
+    }
+
+    private static void prepareApplication(Robot robot, Scheduler robotScheduler, Scheduler reportingScheduler,
+            Clock clock) {
+        addSchedulersAsObservers(robot, robotScheduler, reportingScheduler);
+
+        ReportGeneratorService reportGenerator =
+                new ReportGeneratorService(robot, particleReader, jsonReportPrinter, clock);
         reportingScheduler.addTask(reportGenerator::generate);
 
         RobotPollutionCollector app = new RobotPollutionCollector(robot, particleReader);
         robotScheduler.addTask(app::moveRobot);
-
-        launchApplication(robotScheduler, reportingScheduler);
     }
 
     private static void launchApplication(Scheduler robotScheduler, Scheduler reportingScheduler) {
@@ -55,8 +104,4 @@ public class MoveRobotApp {
         robot.registerObserver(reportingSchedulerObserver);
         return robot;
     }
-
-    private static List<GeoPoint> generateJourney(EncodedPolyline encoder) {
-        return GeoPointMapper.map(encoder.decodePath());
-    }
 }
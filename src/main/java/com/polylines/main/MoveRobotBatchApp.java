@@ -0,0 +1,93 @@
+package com.polylines.main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.zip.GZIPInputStream;
+import com.polylines.application.batch.BatchRunner;
+import com.polylines.application.batch.JourneySimulator;
+import com.polylines.application.batch.Ticking;
+import com.polylines.application.scheduler.RealScheduler;
+import com.polylines.application.scheduler.Scheduler;
+import com.polylines.domain.particlesreading.ParticleReader;
+import com.polylines.infraestructure.RouteCache;
+import com.polylines.infraestructure.reportprinting.NdjsonReportPrinter;
+import com.polylines.infraestructure.reportprinting.RotatingFileReportOutput;
+
+public class MoveRobotBatchApp {
+
+    private static final double SPEED = 2;
+    private static final long MAX_BYTES_PER_REPORT_FILE = 64L << 20;
+    private static final long ROUTE_CACHE_BYTES = 256L << 20;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        IntFunction<ParticleReader> particleReaders = ParticleReaderOption.apply(arguments);
+        Path polylines = Paths.get(arguments.get(0));
+        Path outputDirectory = Paths.get(arguments.get(1));
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int shardCount = arguments.size() > 2 ? Integer.parseInt(arguments.get(2)) : parallelism;
+
+        List<NdjsonReportPrinter> shards = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            shards.add(new NdjsonReportPrinter(
+                    new RotatingFileReportOutput(outputDirectory, "reports-" + shard, MAX_BYTES_PER_REPORT_FILE)));
+        }
+        //Every journey starts when the file was written, so the same file and seed always give the same reports
+        JourneySimulator simulator = new JourneySimulator(SPEED,
+                Files.getLastModifiedTime(polylines).toMillis(), particleReaders, Ticking.EVENT_DRIVEN);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        BatchRunner batch = new BatchRunner(simulator, new RouteCache(ROUTE_CACHE_BYTES), shards, pool);
+
+        long start = System.nanoTime();
+        Scheduler progressScheduler = new RealScheduler(10, 10, TimeUnit.SECONDS);
+        progressScheduler.addTask(() -> printProgress(batch, simulator, start));
+        progressScheduler.start();
+        try (BufferedReader reader = open(polylines)) {
+            batch.run(reader);
+        } finally {
+            progressScheduler.stop();
+            pool.shutdown();
+            for (NdjsonReportPrinter shard : shards) {
+                shard.close();
+            }
+        }
+        printProgress(batch, simulator, start);
+    }
+
+    private static BufferedReader open(Path polylines) throws IOException {
+        InputStream in = Files.newInputStream(polylines);
+        if (polylines.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII));
+    }
+
+    private static void printProgress(BatchRunner batch, JourneySimulator simulator, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / NANOS_PER_SECOND;
+        long completed = batch.getCompletedJourneys();
+        System.err.println(String.format(
+                "%d of %d journeys simulated, %d failed, %d reports, %d wakeups in %.1f s: %.1f journeys/s, %.0f reports/s",
+                completed,
+                batch.getSubmittedJourneys(),
+                batch.getFailedJourneys(),
+                batch.getReports(),
+                simulator.getWakeups(),
+                seconds,
+                completed / seconds,
+                batch.getReports() / seconds));
+    }
+}
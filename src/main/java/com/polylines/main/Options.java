@@ -0,0 +1,25 @@
+package com.polylines.main;
+
+import java.util.Iterator;
+import java.util.List;
+
+//"--name=value" options may come anywhere in the arguments. Taking one removes it, so the positional arguments keep
+//their places once every option has been taken.
+final class Options {
+
+    private Options() {
+    }
+
+    //Removes every occurrence of the option and returns the value of the last one, or null without it
+    static String take(List<String> arguments, String prefix) {
+        String value = null;
+        for (Iterator<String> it = arguments.iterator(); it.hasNext(); ) {
+            String argument = it.next();
+            if (argument.startsWith(prefix)) {
+                value = argument.substring(prefix.length());
+                it.remove();
+            }
+        }
+        return value;
+    }
+}
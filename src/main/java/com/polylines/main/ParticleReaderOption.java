@@ -0,0 +1,34 @@
+package com.polylines.main;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.function.IntFunction;
+import com.polylines.application.readparticles.ReplayParticleReader;
+import com.polylines.domain.particlesreading.ParticleReader;
+import com.polylines.infraestructure.particletrace.ParticleTrace;
+
+//"--trace=<file>" makes every robot replay a recorded trace instead of reading random levels seeded by SeedOption
+class ParticleReaderOption {
+
+    private static final String PREFIX = "--trace=";
+
+    private ParticleReaderOption() {
+    }
+
+    //Both options are taken before choosing, whichever is given. A trace replays the same levels on every run, so a
+    //seed given with it is a mistake rather than something to ignore.
+    static IntFunction<ParticleReader> apply(List<String> arguments) throws IOException {
+        String trace = Options.take(arguments, PREFIX);
+        Long seed = SeedOption.take(arguments);
+        if (trace == null) {
+            return SeedOption.readers(seed);
+        }
+        if (seed != null) {
+            throw new IllegalArgumentException("Readings replayed from " + trace + " cannot be seeded.");
+        }
+        //Mapped once and shared; every robot replays it with a cursor of its own
+        ParticleTrace recorded = ParticleTrace.open(Paths.get(trace));
+        return robotId -> new ReplayParticleReader(recorded);
+    }
+}
@@ -0,0 +1,28 @@
+package com.polylines.main;
+
+import java.util.List;
+import com.polylines.application.readparticles.SeededParticleReaders;
+
+//"--seed=<number>" anywhere in the arguments replays the particle readings of an earlier run
+class SeedOption {
+
+    private static final String PREFIX = "--seed=";
+
+    private SeedOption() {
+    }
+
+    //The seed, or null without the option
+    static Long take(List<String> arguments) {
+        String seed = Options.take(arguments, PREFIX);
+        return seed == null ? null : Long.valueOf(seed);
+    }
+
+    //Without a seed a new one is picked and printed, so the run can be repeated
+    static SeededParticleReaders readers(Long seed) {
+        if (seed == null) {
+            seed = System.nanoTime() ^ System.currentTimeMillis();
+            System.err.println("Particle readings seeded with " + PREFIX + seed);
+        }
+        return new SeededParticleReaders(seed);
+    }
+}
@@ -0,0 +1,25 @@
+package com.polylines.main;
+
+import java.util.List;
+import com.polylines.domain.robot.Route;
+import com.polylines.domain.robot.RouteSimplifier;
+import com.polylines.domain.robot.SimplifiedRoute;
+
+//"--simplify=<meters>" anywhere after the polyline simplifies the decoded route before the robots get it
+class SimplifyOption {
+
+    private static final String PREFIX = "--simplify=";
+
+    private SimplifyOption() {
+    }
+
+    static Route apply(Route route, List<String> arguments) {
+        String toleranceMeters = Options.take(arguments, PREFIX);
+        if (toleranceMeters == null) {
+            return route;
+        }
+        SimplifiedRoute simplified = new RouteSimplifier(Double.parseDouble(toleranceMeters)).simplify(route);
+        System.err.println(simplified);
+        return simplified.getRoute();
+    }
+}
@@ -0,0 +1,25 @@
+package com.polylines.main;
+
+import java.util.List;
+import com.polylines.application.batch.Ticking;
+
+//"--ticking=event-driven" wakes each robot up only on the ticks where something happens to it, instead of moving
+//every robot every second
+class TickingOption {
+
+    private static final String PREFIX = "--ticking=";
+
+    private TickingOption() {
+    }
+
+    static Ticking apply(List<String> arguments) {
+        String ticking = Options.take(arguments, PREFIX);
+        if (ticking == null || "every-second".equals(ticking)) {
+            return Ticking.EVERY_SECOND;
+        }
+        if ("event-driven".equals(ticking)) {
+            return Ticking.EVENT_DRIVEN;
+        }
+        throw new IllegalArgumentException("Unknown ticking " + ticking + ", use every-second or event-driven.");
+    }
+}
@@ -0,0 +1,53 @@
+package com.polylines.main;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.polylines.application.readparticles.ReplayParticleReader;
+import com.polylines.infraestructure.particletrace.ParticleTraceWriter;
+
+public class ParticleReaderOptionTest {
+
+    private Path trace;
+
+    @Before
+    public void setup() throws IOException {
+        trace = Files.createTempFile("trace", ".bin");
+        try (ParticleTraceWriter writer = new ParticleTraceWriter(trace)) {
+            writer.append(0, 10);
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.delete(trace);
+    }
+
+    @Test
+    public void theOptionsAreRemovedWhicheverReaderIsChosen() throws IOException {
+
+        List<String> seeded = new ArrayList<>(asList("polyline", "--seed=7", "20", "--simplify=5"));
+        List<String> replayed = new ArrayList<>(asList("polyline", "--trace=" + trace, "--simulate"));
+
+        ParticleReaderOption.apply(seeded);
+
+        assertEquals(asList("polyline", "20", "--simplify=5"), seeded);
+        assertTrue(ParticleReaderOption.apply(replayed).apply(0) instanceof ReplayParticleReader);
+        assertEquals(asList("polyline", "--simulate"), replayed);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void aReplayedTraceCannotBeSeeded() throws IOException {
+
+        ParticleReaderOption.apply(new ArrayList<>(asList("polyline", "--trace=" + trace, "--seed=7", "20")));
+    }
+}
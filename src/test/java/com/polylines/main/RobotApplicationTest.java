@@ -120,12 +120,12 @@ public class RobotApplicationTest {
 
         app.moveRobot();
 
-        assertEquals(aGeoPoint(41.84858184958813, -87.63832980118924), robot.getCurrentPosition());
+        assertNear(aGeoPoint(41.848581849611335, -87.63832980109696), robot.getCurrentPosition());
         assertEquals(1, app.getNextPosition());
 
         app.moveRobot();
 
-        assertEquals(aGeoPoint(41.848857314177536, -87.63810757332594), robot.getCurrentPosition());
+        assertNear(aGeoPoint(41.8488573142979, -87.6381075738607), robot.getCurrentPosition());
         assertEquals(2, app.getNextPosition());
     }
 
@@ -157,13 +157,13 @@ public class RobotApplicationTest {
         app.moveRobot();
         app.moveRobot();
 
-        assertEquals(1, particleReader.values.size());
+        assertEquals(1, particleReader.getReadings().count());
 
         //Moving 60 meters
         app.moveRobot();
         app.moveRobot();
 
-        assertEquals(2, particleReader.values.size());
+        assertEquals(2, particleReader.getReadings().count());
     }
 
     @Test
@@ -229,4 +229,10 @@ public class RobotApplicationTest {
         timer.start();
         timer.elapseTime();
     }
+
+    //Slerp goes through trigonometric functions whose last bit differs between JDKs
+    private static void assertNear(GeoPoint expected, GeoPoint actual) {
+        assertEquals(expected.lat, actual.lat, 1e-12);
+        assertEquals(expected.lng, actual.lng, 1e-12);
+    }
 }
@@ -0,0 +1,36 @@
+package com.polylines.main;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import com.polylines.application.batch.Ticking;
+
+public class TickingOptionTest {
+
+    @Test
+    public void withoutTheOption_robotsTickEverySecond() {
+
+        List<String> arguments = new ArrayList<>(asList("polyline", "20"));
+
+        assertEquals(Ticking.EVERY_SECOND, TickingOption.apply(arguments));
+        assertEquals(asList("polyline", "20"), arguments);
+    }
+
+    @Test
+    public void eventDrivenTickingIsChosenAndTheOptionRemoved() {
+
+        List<String> arguments = new ArrayList<>(asList("polyline", "--ticking=event-driven", "20"));
+
+        assertEquals(Ticking.EVENT_DRIVEN, TickingOption.apply(arguments));
+        assertEquals(asList("polyline", "20"), arguments);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void anUnknownTickingIsRejected() {
+
+        TickingOption.apply(new ArrayList<>(asList("polyline", "--ticking=hourly")));
+    }
+}
@@ -0,0 +1,57 @@
+package com.polylines.main.batch;
+
+import static com.polylines.domain.robot.PolylineBuilder.aPolyline;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import com.polylines.application.batch.BatchRunner;
+import com.polylines.application.batch.JourneySimulator;
+import com.polylines.application.readparticles.RandomParticleReader;
+import com.polylines.domain.reporting.Report;
+import com.polylines.domain.reporting.ReportPrinter;
+import com.polylines.infraestructure.RouteCache;
+
+public class BatchRunnerTest {
+
+    @Test
+    public void everyJourneyOfTheFileIsSimulatedToItsEnd() throws IOException, InterruptedException {
+
+        StringBuilder file = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            file.append(aPolyline()).append('\n');
+        }
+        file.append('\n').append("_p~iF~ps|U").append('\n').append("_").append('\n');
+        List<List<Report>> shards = Arrays.asList(
+                Collections.synchronizedList(new ArrayList<>()),
+                Collections.synchronizedList(new ArrayList<>()));
+        List<ReportPrinter> printers = Arrays.asList(shards.get(0)::add, shards.get(1)::add);
+        RouteCache routes = new RouteCache(1 << 20);
+        BatchRunner batch = new BatchRunner(
+                new JourneySimulator(2, 0, robotId -> new RandomParticleReader(new Random())),
+                routes, printers, new ForkJoinPool(4));
+
+        batch.run(new BufferedReader(new StringReader(file.toString())));
+
+        assertEquals(42, batch.getSubmittedJourneys());
+        assertEquals(40, batch.getCompletedJourneys());
+        assertEquals(2, batch.getFailedJourneys());
+        assertEquals(2, routes.size());
+        assertTrue(batch.getReports() >= 40);
+        assertEquals(batch.getReports(), shards.get(0).size() + shards.get(1).size());
+        for (int shard = 0; shard < 2; shard++) {
+            for (Report report : shards.get(shard)) {
+                assertEquals(shard, report.getRobotId() % 2);
+            }
+        }
+    }
+}
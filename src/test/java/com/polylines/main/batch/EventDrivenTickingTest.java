@@ -0,0 +1,73 @@
+package com.polylines.main.batch;
+
+import static com.polylines.domain.robot.PolylineBuilder.aPolyline;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.Test;
+import com.polylines.application.batch.JourneySimulator;
+import com.polylines.application.batch.Ticking;
+import com.polylines.application.readparticles.SeededParticleReaders;
+import com.polylines.domain.reporting.Report;
+import com.polylines.domain.robot.RobotValidationException;
+import com.polylines.domain.robot.Route;
+import com.polylines.infraestructure.PolylineDecoder;
+
+public class EventDrivenTickingTest {
+
+    private static final long START = 1588766610000L;
+
+    @Test
+    public void skippingUneventfulTicksGivesTheSameReports() throws RobotValidationException {
+
+        for (double speed : new double[]{2, 0.7, 7.3, 11}) {
+            JourneySimulator everySecond =
+                    new JourneySimulator(speed, START, new SeededParticleReaders(5), Ticking.EVERY_SECOND);
+            JourneySimulator eventDriven =
+                    new JourneySimulator(speed, START, new SeededParticleReaders(5), Ticking.EVENT_DRIVEN);
+
+            List<Report> expected = simulate(everySecond, PolylineDecoder::decode);
+            List<Report> actual = simulate(eventDriven, PolylineDecoder::decode);
+            List<Report> lazily = simulate(eventDriven, PolylineDecoder::decodeLazily);
+
+            assertTrue(expected.size() > 0);
+            assertSameReports(expected, actual);
+            assertSameReports(expected, lazily);
+        }
+    }
+
+    @Test
+    public void theRobotOnlyWakesUpForReadingsReportsAndTheEnd() throws RobotValidationException {
+
+        JourneySimulator everySecond =
+                new JourneySimulator(2, START, new SeededParticleReaders(5), Ticking.EVERY_SECOND);
+        JourneySimulator eventDriven =
+                new JourneySimulator(2, START, new SeededParticleReaders(5), Ticking.EVENT_DRIVEN);
+
+        simulate(everySecond, PolylineDecoder::decode);
+        simulate(eventDriven, PolylineDecoder::decode);
+
+        assertTrue(eventDriven.getWakeups() * 10 < everySecond.getWakeups());
+    }
+
+    private static List<Report> simulate(JourneySimulator simulator, Function<String, Route> decoder)
+            throws RobotValidationException {
+        List<Report> reports = new ArrayList<>();
+        long printed = simulator.simulate(3, decoder.apply(aPolyline()), reports::add);
+        assertEquals(printed, reports.size());
+        return reports;
+    }
+
+    private static void assertSameReports(List<Report> expected, List<Report> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getTimestamp(), actual.get(i).getTimestamp());
+            assertEquals(expected.get(i).getLocation().getLat(), actual.get(i).getLocation().getLat(), 0);
+            assertEquals(expected.get(i).getLocation().getLng(), actual.get(i).getLocation().getLng(), 0);
+            assertEquals(expected.get(i).getLevel(), actual.get(i).getLevel());
+        }
+    }
+}
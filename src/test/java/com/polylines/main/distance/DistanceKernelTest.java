@@ -0,0 +1,80 @@
+package com.polylines.main.distance;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import com.polylines.infraestructure.DistanceCalculator;
+import com.polylines.domain.robot.distance.DistanceKernel;
+import com.polylines.domain.robot.distance.DistanceKernels;
+
+public class DistanceKernelTest {
+
+    private static final double EARTH_RADIUS = 6371000;
+    private static final double[] LATS = {41.84888, 41.84856, 41.84903, 41.84906, 41.87790};
+    private static final double[] LNGS = {-87.63860, -87.63831, -87.63799, -87.63693, -87.66001};
+
+    @Test
+    public void batchDistances_areTheSameAsOneByOne() {
+
+        for (DistanceKernel kernel : new DistanceKernel[]{
+                DistanceKernels.HAVERSINE, DistanceKernels.EQUIRECTANGULAR, DistanceKernels.VINCENTY}) {
+            double[] meters = new double[LATS.length];
+
+            kernel.distancesToPrevious(LATS, LNGS, 0, LATS.length, meters);
+
+            for (int i = 1; i < LATS.length; i++) {
+                assertEquals(kernel.distance(LATS[i - 1], LNGS[i - 1], LATS[i], LNGS[i]), meters[i], 0);
+            }
+        }
+    }
+
+    @Test
+    public void equirectangularKernel_staysWithinItsErrorBoundForShortSegments() {
+
+        double haversine = DistanceCalculator.calculate(41.84888, -87.63860, 41.85700, -87.63000);
+        double equirectangular = DistanceKernels.EQUIRECTANGULAR.distance(41.84888, -87.63860, 41.85700, -87.63000);
+
+        assertEquals(haversine, equirectangular, haversine * 4e-8);
+    }
+
+    @Test
+    public void equirectangularKernel_staysWithinItsErrorBoundsAt80Degrees() {
+
+        //The error grows with the latitude, so the bounds stated for below 80 degrees are checked right there
+        assertWithinBoundInEveryDirection(80, 1000, 4e-8);
+        assertWithinBoundInEveryDirection(80, 10000, 4e-6);
+    }
+
+    @Test
+    public void vincentyKernel_measuresOnTheEllipsoid() {
+
+        //Flinders Peak to Buninyong, the worked example of Vincenty's paper
+        double meters = DistanceKernels.VINCENTY.distance(
+                -(37 + 57 / 60.0 + 3.72030 / 3600), 144 + 25 / 60.0 + 29.52440 / 3600,
+                -(37 + 39 / 60.0 + 10.15610 / 3600), 143 + 55 / 60.0 + 35.38390 / 3600);
+
+        assertEquals(54972.271, meters, 0.001);
+    }
+
+    @Test
+    public void adaptiveKernel_usesHaversineForLongSegments() {
+
+        double haversine = DistanceCalculator.calculate(41.87790, -87.66001, 41.82445, -87.61263);
+
+        assertEquals(haversine, DistanceKernels.adaptive(1000).distance(41.87790, -87.66001, 41.82445, -87.61263), 0);
+    }
+
+    private void assertWithinBoundInEveryDirection(double lat, double meters, double relativeError) {
+        double lng = 15;
+        for (int bearing = 0; bearing < 360; bearing += 5) {
+            double radians = Math.toRadians(bearing);
+            double endLat = lat + Math.toDegrees(meters * Math.cos(radians) / EARTH_RADIUS);
+            double endLng = lng
+                    + Math.toDegrees(meters * Math.sin(radians) / (EARTH_RADIUS * Math.cos(Math.toRadians(lat))));
+            double haversine = DistanceCalculator.calculate(lat, lng, endLat, endLng);
+            double equirectangular = DistanceKernels.EQUIRECTANGULAR.distance(lat, lng, endLat, endLng);
+
+            assertEquals(haversine, equirectangular, haversine * relativeError);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.polylines.main.fleet;
+
+import static com.polylines.domain.robot.PolylineBuilder.aPolyline;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.polylines.application.fleet.Fleet;
+import com.polylines.application.moverobot.RobotPollutionCollector;
+import com.polylines.application.readparticles.SeededParticleReaders;
+import com.polylines.domain.reporting.Report;
+import com.polylines.domain.robot.Robot;
+import com.polylines.domain.robot.RobotValidationException;
+import com.polylines.domain.robot.Route;
+import com.polylines.infraestructure.PolylineDecoder;
+
+public class FleetCheckpointTest {
+
+    private static final int FLEET_SIZE = 10_000;
+
+    private Path directory;
+    private Fleet crashed;
+    private Fleet resumed;
+
+    @Before
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("checkpoint");
+        crashed = new Fleet(4);
+        resumed = new Fleet(4);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        crashed.shutdown();
+        resumed.shutdown();
+        Files.walk(directory).sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+    }
+
+    @Test
+    public void aRestoredFleetResumesEveryRobotWhereItWasCheckpointed() throws RobotValidationException, IOException {
+
+        Route route = PolylineDecoder.decode(aPolyline());
+        List<Report> crashedReports = Collections.synchronizedList(new ArrayList<>());
+        List<Report> resumedReports = Collections.synchronizedList(new ArrayList<>());
+        List<RobotPollutionCollector> crashedCollectors = new ArrayList<>();
+        List<RobotPollutionCollector> resumedCollectors = new ArrayList<>();
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            crashedCollectors.add(crashed.add(new Robot(i, route, 7.3), new SeededParticleReaders(1).apply(i),
+                    crashedReports::add));
+            resumedCollectors.add(resumed.add(new Robot(i, route, 7.3), new SeededParticleReaders(2).apply(i),
+                    resumedReports::add));
+        }
+        for (int tick = 0; tick < 57; tick++) {
+            crashed.tick();
+        }
+        Path checkpoint = directory.resolve("fleet.bin");
+
+        assertEquals(FLEET_SIZE, crashed.checkpoint(checkpoint));
+        assertEquals(FLEET_SIZE, resumed.restore(checkpoint));
+
+        crashed.generateReports();
+        resumed.generateReports();
+        crashed.tick();
+        resumed.tick();
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            RobotPollutionCollector before = crashedCollectors.get(i);
+            RobotPollutionCollector after = resumedCollectors.get(i);
+            assertEquals(before.getTravelledMeters(), after.getTravelledMeters(), 0);
+            assertEquals(before.getNextPosition(), after.getNextPosition());
+            assertEquals(before.getReadingsTaken(), after.getReadingsTaken());
+        }
+        assertEquals(FLEET_SIZE, resumedReports.size());
+        crashedReports.sort((a, b) -> Integer.compare(a.getRobotId(), b.getRobotId()));
+        resumedReports.sort((a, b) -> Integer.compare(a.getRobotId(), b.getRobotId()));
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            assertEquals(crashedReports.get(i).getLocation().getLat(), resumedReports.get(i).getLocation().getLat(), 0);
+            assertEquals(crashedReports.get(i).getLocation().getLng(), resumedReports.get(i).getLocation().getLng(), 0);
+            assertEquals(crashedReports.get(i).getLevel(), resumedReports.get(i).getLevel());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.polylines.main.fleet;
+
+import static com.polylines.domain.robot.GeoPointBuilder.aGeoPoint;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.polylines.application.fleet.Fleet;
+import com.polylines.application.moverobot.RobotPollutionCollector;
+import com.polylines.application.readparticles.RandomParticleReader;
+import com.polylines.application.scheduler.TimingWheel;
+import com.polylines.domain.reporting.Report;
+import com.polylines.domain.reporting.ReportPrinter;
+import com.polylines.domain.robot.GeoPoint;
+import com.polylines.domain.robot.Robot;
+import com.polylines.domain.robot.RobotValidationException;
+import com.polylines.domain.robot.Route;
+
+public class FleetTest {
+
+    private static final int FLEET_SIZE = 100;
+    private Fleet fleet;
+    private ReportPrinter printer = mock(ReportPrinter.class);
+
+    @Before
+    public void setup() {
+        fleet = new Fleet(4);
+    }
+
+    @After
+    public void tearDown() {
+        fleet.shutdown();
+    }
+
+    @Test
+    public void whenTheFleetTicks_everyRobotMovesAsIfItWasMovedAlone() throws RobotValidationException {
+
+        List<Robot> robots = new ArrayList<>();
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            Robot robot = new Robot(aJourneyWithFourPointsWithATotalDistanceOf200Meters(), 40);
+            fleet.add(robot, new RandomParticleReader(mock(Random.class)), printer);
+            robots.add(robot);
+        }
+        Robot aloneRobot = new Robot(aJourneyWithFourPointsWithATotalDistanceOf200Meters(), 40);
+        RobotPollutionCollector aloneCollector =
+                new RobotPollutionCollector(aloneRobot, new RandomParticleReader(mock(Random.class)));
+
+        fleet.tick();
+        fleet.tick();
+        aloneCollector.moveRobot();
+        aloneCollector.moveRobot();
+
+        assertEquals(FLEET_SIZE, fleet.size());
+        robots.forEach(robot -> assertEquals(aloneRobot.getCurrentPosition(), robot.getCurrentPosition()));
+        assertFalse(fleet.allRobotsArrived());
+    }
+
+    @Test
+    public void whenEveryRobotHasArrived_theFleetHasArrived() throws RobotValidationException {
+
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            fleet.add(new Robot(aJourneyWithFourPointsWithATotalDistanceOf200Meters(), 250),
+                    new RandomParticleReader(mock(Random.class)), printer);
+        }
+
+        fleet.tick();
+
+        assertTrue(fleet.allRobotsArrived());
+        assertTrue(fleet.getLastTickNanos() > 0);
+        assertTrue(fleet.getSustainableFleetSize() > 0);
+    }
+
+    @Test
+    public void anEventDrivenFleetOnlyWakesItsRobotsWhenSomethingHappens()
+            throws RobotValidationException, InterruptedException {
+
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            fleet.add(new Robot(i, Route.of(aJourneyWithFourPointsWithATotalDistanceOf200Meters()), 250),
+                    new RandomParticleReader(mock(Random.class)), printer);
+        }
+        TimingWheel wheel = new TimingWheel(2);
+        CountDownLatch arrived = new CountDownLatch(1);
+
+        fleet.startEventDriven(wheel, arrived::countDown);
+
+        assertTrue(arrived.await(5, TimeUnit.SECONDS));
+        assertTrue(fleet.allRobotsArrived());
+        assertEquals(FLEET_SIZE, fleet.getWakeups());
+        wheel.shutdown();
+    }
+
+    @Test
+    public void reportsOfAnEventDrivenFleetPlaceTheRobotsWhereTickingWouldHaveThem() throws RobotValidationException {
+
+        List<Report> reports = Collections.synchronizedList(new ArrayList<>());
+        List<RobotPollutionCollector> collectors = new ArrayList<>();
+        List<Robot> robots = new ArrayList<>();
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            //Its first reading is hours away, so it sleeps after the first tick
+            Robot robot = new Robot(i, Route.of(aJourneyWithFourPointsWithATotalDistanceOf200Meters()), 0.01);
+            collectors.add(fleet.add(robot, new RandomParticleReader(mock(Random.class)), reports::add));
+            robots.add(robot);
+        }
+        TimingWheel wheel = new TimingWheel(2);
+
+        fleet.startEventDriven(wheel, () -> { });
+        fleet.generateReports();
+        wheel.shutdown();
+
+        assertEquals(FLEET_SIZE, reports.size());
+        assertEquals(FLEET_SIZE, fleet.getWakeups());
+        for (Report report : reports) {
+            RobotPollutionCollector collector = collectors.get(report.getRobotId());
+            GeoPoint ticked = robots.get(report.getRobotId()).positionAt(collector.getTicks());
+            assertTrue(collector.getTicks() >= 1);
+            assertEquals(ticked.lat, report.getLocation().getLat(), 0);
+            assertEquals(ticked.lng, report.getLocation().getLng(), 0);
+        }
+    }
+
+    private List<GeoPoint> aJourneyWithFourPointsWithATotalDistanceOf200Meters() {
+        return asList(
+                aGeoPoint(41.84888, -87.63860),
+                aGeoPoint(41.84856, -87.63831),
+                aGeoPoint(41.84903, -87.63799),
+                aGeoPoint(41.84906, -87.63693));
+    }
+}
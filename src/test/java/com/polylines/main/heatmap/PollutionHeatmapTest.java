@@ -0,0 +1,80 @@
+package com.polylines.main.heatmap;
+
+import static com.polylines.domain.robot.GeoPointBuilder.aGeoPoint;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import com.polylines.application.moverobot.RobotPollutionCollector;
+import com.polylines.application.readparticles.RandomParticleReader;
+import com.polylines.domain.heatmap.Geohash;
+import com.polylines.domain.heatmap.HeatmapTiles;
+import com.polylines.domain.heatmap.PollutionHeatmap;
+import com.polylines.domain.robot.GeoPoint;
+import com.polylines.domain.robot.Robot;
+import com.polylines.domain.robot.RobotValidationException;
+
+public class PollutionHeatmapTest {
+
+    @Test
+    public void geohashesMatchTheStandardEncoding() {
+
+        long hash = Geohash.encode(57.64911, 10.40744, 11);
+
+        assertEquals("u4pruydqqvj", Geohash.toString(hash, 11));
+        GeoPoint center = Geohash.center(hash, 11);
+        assertEquals(57.64911, center.lat, 1e-5);
+        assertEquals(10.40744, center.lng, 1e-5);
+    }
+
+    @Test
+    public void readingsAreTaggedWithThePositionOfTheirHundredMeterMark() throws RobotValidationException {
+
+        Robot robot = new Robot(asList(
+                aGeoPoint(41.84888, -87.63860),
+                aGeoPoint(41.84856, -87.63831),
+                aGeoPoint(41.84903, -87.63799),
+                aGeoPoint(41.84906, -87.63693)), 150);
+        List<GeoPoint> tagged = new ArrayList<>();
+        RobotPollutionCollector collector = new RobotPollutionCollector(robot, new RandomParticleReader(new Random()),
+                (lat, lng, reading) -> tagged.add(new GeoPoint(lat, lng)));
+
+        collector.moveRobot();
+
+        assertEquals(1, tagged.size());
+        assertEquals(robot.route.positionAtDistance(100), tagged.get(0));
+    }
+
+    @Test
+    public void tilesFilledByManyThreadsAreMergedInTheSnapshot() throws InterruptedException {
+
+        PollutionHeatmap heatmap = new PollutionHeatmap(7);
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            int reading = 10 * (t + 1);
+            threads.execute(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    heatmap.onReading(41.84888, -87.63860, reading);
+                    heatmap.onReading(51.50265, -0.14119, 1);
+                }
+            });
+        }
+        threads.shutdown();
+        threads.awaitTermination(10, TimeUnit.SECONDS);
+
+        HeatmapTiles tiles = heatmap.snapshot();
+        long chicago = Geohash.encode(41.84888, -87.63860, 7);
+
+        assertEquals(2, tiles.size());
+        assertEquals(4000, tiles.count(chicago));
+        assertEquals(25, tiles.average(chicago), 0);
+        assertEquals(40, tiles.max(chicago));
+        assertEquals(4000, tiles.count(Geohash.encode(51.50265, -0.14119, 7)));
+    }
+}
@@ -0,0 +1,76 @@
+package com.polylines.main.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.JMX;
+import javax.management.ObjectName;
+import org.junit.Test;
+import com.polylines.infraestructure.metrics.LatencyHistogram;
+import com.polylines.infraestructure.metrics.LatencySummary;
+import com.polylines.infraestructure.metrics.MetricsRegistry;
+import com.polylines.infraestructure.metrics.MetricsRegistryMXBean;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void percentilesAreKnownWithinTheirBucket() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        assertEquals(1000, histogram.count());
+        assertEquals(500.5, histogram.mean(TimeUnit.MICROSECONDS), 1e-9);
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(1000), histogram.max());
+        assertWithinBucket(TimeUnit.MICROSECONDS.toNanos(500), histogram.percentile(50));
+        assertWithinBucket(TimeUnit.MICROSECONDS.toNanos(990), histogram.percentile(99));
+        assertEquals(histogram.max(), histogram.percentile(100));
+    }
+
+    @Test
+    public void countersAndGaugesAreReadTogether() {
+
+        MetricsRegistry registry = new MetricsRegistry();
+        long[] queued = {3};
+        registry.counter("reports.generated").add(5);
+        registry.counter("reports.generated").increment();
+        registry.gauge("reports.queued", () -> queued[0]);
+        queued[0] = 7;
+
+        Map<String, Long> values = registry.getValues();
+
+        assertEquals(6, (long) values.get("reports.generated"));
+        assertEquals(7, (long) values.get("reports.queued"));
+    }
+
+    @Test
+    public void theMetricsCanBeReadThroughJmx() throws JMException {
+
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.histogram("fleet.tick").record(TimeUnit.MILLISECONDS.toNanos(2));
+        registry.registerMBean("test");
+
+        ObjectName name = new ObjectName("com.polylines:type=Metrics,name=test");
+        try {
+            MetricsRegistryMXBean proxy = JMX.newMXBeanProxy(
+                    ManagementFactory.getPlatformMBeanServer(), name, MetricsRegistryMXBean.class);
+            LatencySummary tick = proxy.getLatencies().get("fleet.tick");
+
+            assertEquals(1, tick.getCount());
+            assertWithinBucket(TimeUnit.MILLISECONDS.toNanos(2), tick.getP99());
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+
+    private static void assertWithinBucket(long expected, long actual) {
+        assertTrue(actual + " is not within 12.5% above " + expected,
+                actual >= expected && actual <= expected + expected / 8);
+    }
+}
@@ -0,0 +1,50 @@
+package com.polylines.main.readings;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import com.polylines.domain.particlesreading.DoubleBufferedReadings;
+import com.polylines.domain.particlesreading.ParticleReadings;
+
+public class DoubleBufferedReadingsTest {
+
+    private static final int READINGS = 1_000_000;
+
+    @Test
+    public void swappingWhileAnotherThreadRecords_neverLosesAReading() throws InterruptedException {
+
+        DoubleBufferedReadings readings = new DoubleBufferedReadings();
+        Thread movement = new Thread(() -> {
+            for (int i = 0; i < READINGS; i++) {
+                readings.record(1);
+            }
+        });
+
+        movement.start();
+        long collected = 0;
+        while (movement.isAlive()) {
+            ParticleReadings window = readings.swap();
+            assertEquals(window.count(), window.sum());
+            collected += window.count();
+        }
+        movement.join();
+        collected += readings.swap().count();
+
+        assertEquals(READINGS, collected);
+    }
+
+    @Test
+    public void afterASwap_newReadingsGoToAFreshWindow() {
+
+        DoubleBufferedReadings readings = new DoubleBufferedReadings();
+        readings.record(10);
+
+        readings.swap();
+        readings.record(20);
+        ParticleReadings second = readings.swap();
+
+        assertEquals(20, second.average(), 0);
+        assertEquals(1, second.count());
+        assertEquals(0, readings.current().count());
+    }
+}
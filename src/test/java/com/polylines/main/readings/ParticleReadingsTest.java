@@ -0,0 +1,49 @@
+package com.polylines.main.readings;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import com.polylines.domain.particlesreading.ParticleReadings;
+
+public class ParticleReadingsTest {
+
+    @Test
+    public void recordingReadings_keepsAverageMaxAndPercentiles() {
+
+        ParticleReadings readings = new ParticleReadings();
+        for (int value = 1; value <= 100; value++) {
+            readings.record(value);
+        }
+
+        assertEquals(100, readings.count());
+        assertEquals(50.5, readings.average(), 0);
+        assertEquals(50, readings.p50());
+        assertEquals(95, readings.p95());
+        assertEquals(100, readings.max());
+    }
+
+    @Test
+    public void readingsAboveTheHistogramRange_areStillCountedInTheAverageAndMax() {
+
+        ParticleReadings readings = new ParticleReadings();
+        readings.record(150);
+        readings.record(250);
+
+        assertEquals(200, readings.average(), 0);
+        assertEquals(250, readings.max());
+        assertEquals(250, readings.percentile(100));
+    }
+
+    @Test
+    public void afterClearing_thereAreNoReadings() {
+
+        ParticleReadings readings = new ParticleReadings();
+        readings.record(42);
+
+        readings.clear();
+
+        assertEquals(0, readings.count());
+        assertEquals(0, readings.average(), 0);
+        assertEquals(0, readings.p95());
+    }
+}
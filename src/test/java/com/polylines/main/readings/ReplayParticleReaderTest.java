@@ -0,0 +1,96 @@
+package com.polylines.main.readings;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.polylines.application.moverobot.RobotPollutionCollector;
+import com.polylines.application.readparticles.ReplayParticleReader;
+import com.polylines.domain.robot.Robot;
+import com.polylines.domain.robot.RobotValidationException;
+import com.polylines.domain.robot.RouteBuilder;
+import com.polylines.infraestructure.particletrace.ParticleTrace;
+import com.polylines.infraestructure.particletrace.ParticleTraceConverter;
+import com.polylines.infraestructure.particletrace.ParticleTraceWriter;
+
+public class ReplayParticleReaderTest {
+
+    private Path directory;
+
+    @Before
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("trace");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.walk(directory).sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+    }
+
+    @Test
+    public void readingsAreInterpolatedBetweenTheSamplesAroundTheDistance() throws IOException {
+
+        Path file = directory.resolve("trace.bin");
+        long samples = ParticleTraceConverter.fromDistances(csv("meters,level\n0,10\n100,30\n\n300,130\n"), file);
+        ReplayParticleReader reader = new ReplayParticleReader(ParticleTrace.open(file));
+
+        assertEquals(3, samples);
+        assertEquals(10, reader.runAt(-5));
+        assertEquals(20, reader.runAt(50));
+        assertEquals(30, reader.runAt(100));
+        assertEquals(80, reader.runAt(200));
+        assertEquals(130, reader.runAt(1000));
+        assertEquals(20, reader.runAt(50));
+        assertEquals(6, reader.getReadings().count());
+    }
+
+    @Test
+    public void timestampedSamplesAreReplayedAtTheRobotSpeed() throws IOException {
+
+        Path file = directory.resolve("trace.bin");
+        ParticleTraceConverter.fromTimestamps(csv("1588766610000,50\n1588766660000,150\n"), file, 2);
+        ReplayParticleReader reader = new ReplayParticleReader(ParticleTrace.open(file));
+
+        assertEquals(100, reader.runAt(50));
+        assertEquals(150, reader.runAt(100));
+    }
+
+    @Test
+    public void theCollectorReadsTheTraceAtEveryHundredMeterMark() throws IOException, RobotValidationException {
+
+        Path file = directory.resolve("trace.bin");
+        try (ParticleTraceWriter writer = new ParticleTraceWriter(file)) {
+            for (int meters = 0; meters <= 100_000; meters++) {
+                writer.append(meters, meters / 10f);
+            }
+        }
+        Robot robot = new Robot(RouteBuilder.aRoute()
+                .add(41.84, -87.63)
+                .add(41.85, -87.63)
+                .build(), 2);
+        List<Integer> readings = new ArrayList<>();
+        RobotPollutionCollector collector = new RobotPollutionCollector(robot,
+                new ReplayParticleReader(ParticleTrace.open(file)), (lat, lng, reading) -> readings.add(reading));
+
+        while (!collector.hasFinished()) {
+            collector.moveRobot();
+        }
+
+        assertEquals(11, readings.size());
+        for (int i = 0; i < readings.size(); i++) {
+            assertEquals(10 * (i + 1), (int) readings.get(i));
+        }
+    }
+
+    private static BufferedReader csv(String content) {
+        return new BufferedReader(new StringReader(content));
+    }
+}
@@ -0,0 +1,72 @@
+package com.polylines.main.readings;
+
+import static com.polylines.domain.robot.PolylineBuilder.aPolyline;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import com.polylines.application.batch.BatchRunner;
+import com.polylines.application.batch.JourneySimulator;
+import com.polylines.application.readparticles.RandomParticleReader;
+import com.polylines.application.readparticles.SeededParticleReaders;
+import com.polylines.infraestructure.RouteCache;
+
+public class SeededParticleReadersTest {
+
+    @Test
+    public void aRobotReadsTheSameLevelsWhateverTheOrderTheReadersAreCreatedIn() {
+
+        SeededParticleReaders fleet = new SeededParticleReaders(42);
+        RandomParticleReader robotSeven = fleet.apply(7);
+        RandomParticleReader robotThree = fleet.apply(3);
+        SeededParticleReaders sameFleet = new SeededParticleReaders(42);
+        RandomParticleReader robotThreeAgain = sameFleet.apply(3);
+        RandomParticleReader robotSevenAgain = sameFleet.apply(7);
+
+        List<Integer> seven = readings(robotSeven);
+        assertEquals(seven, readings(robotSevenAgain));
+        assertEquals(readings(robotThree), readings(robotThreeAgain));
+        assertNotEquals(seven, readings(robotThree));
+        assertNotEquals(seven, readings(new SeededParticleReaders(43).apply(7)));
+    }
+
+    @Test
+    public void aParallelBatchWithTheSameSeedPrintsTheSameReports() throws IOException, InterruptedException {
+
+        assertEquals(runBatch(2020), runBatch(2020));
+        assertNotEquals(runBatch(2020), runBatch(2021));
+    }
+
+    private static List<Integer> readings(RandomParticleReader reader) {
+        List<Integer> readings = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            readings.add(reader.run());
+        }
+        return readings;
+    }
+
+    private static List<String> runBatch(long seed) throws IOException, InterruptedException {
+        StringBuilder file = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            file.append(aPolyline()).append('\n');
+        }
+        List<String> reports = Collections.synchronizedList(new ArrayList<>());
+        BatchRunner batch = new BatchRunner(new JourneySimulator(2, 0, new SeededParticleReaders(seed)),
+                new RouteCache(1 << 20),
+                Collections.singletonList(report -> reports.add(
+                        report.getRobotId() + "@" + report.getTimestamp() + ":" + report.getLevel())),
+                new ForkJoinPool(4));
+
+        batch.run(new BufferedReader(new StringReader(file.toString())));
+
+        Collections.sort(reports);
+        return reports;
+    }
+}
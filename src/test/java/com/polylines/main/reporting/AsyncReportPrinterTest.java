@@ -0,0 +1,114 @@
+package com.polylines.main.reporting;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Test;
+import com.polylines.domain.reporting.Location;
+import com.polylines.domain.reporting.Report;
+import com.polylines.domain.reporting.ReportPrinter;
+import com.polylines.domain.robot.Robot;
+import com.polylines.infraestructure.reportprinting.AsyncReportPrinter;
+import com.polylines.infraestructure.reportprinting.OverflowPolicy;
+
+public class AsyncReportPrinterTest {
+
+    private final List<Report> printed = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch slowSinkReleased = new CountDownLatch(1);
+    private final CountDownLatch slowSinkStarted = new CountDownLatch(1);
+
+    @Test
+    public void whenClosed_everyQueuedReportHasBeenPrintedInOrder() {
+
+        AsyncReportPrinter printer = new AsyncReportPrinter(printed::add, 16, OverflowPolicy.BLOCK);
+        List<Report> reports = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            reports.add(aReport(i));
+            printer.print(reports.get(i));
+        }
+
+        printer.close();
+
+        assertEquals(reports, printed);
+        assertEquals(100, printer.getPrintedReports());
+        assertEquals(0, printer.getDroppedReports());
+    }
+
+    @Test
+    public void whenTheSinkIsSlowAndTheQueueFull_droppingTheNewestKeepsTheFirstReports() throws InterruptedException {
+
+        AsyncReportPrinter printer = new AsyncReportPrinter(aSlowSink(), 2, OverflowPolicy.DROP_NEWEST);
+
+        printer.print(aReport(0));
+        slowSinkStarted.await();
+        for (int i = 1; i <= 4; i++) {
+            printer.print(aReport(i));
+        }
+        assertEquals(2, printer.getQueueDepth());
+        slowSinkReleased.countDown();
+        printer.close();
+
+        assertEquals(2, printer.getDroppedReports());
+        assertEquals(0, printed.get(0).getLocation().getLat(), 0);
+        assertEquals(1, printed.get(1).getLocation().getLat(), 0);
+        assertEquals(2, printed.get(2).getLocation().getLat(), 0);
+    }
+
+    @Test
+    public void whenTheSinkIsSlowAndTheQueueFull_droppingTheOldestKeepsTheLastReports() throws InterruptedException {
+
+        AsyncReportPrinter printer = new AsyncReportPrinter(aSlowSink(), 2, OverflowPolicy.DROP_OLDEST);
+
+        printer.print(aReport(0));
+        slowSinkStarted.await();
+        for (int i = 1; i <= 4; i++) {
+            printer.print(aReport(i));
+        }
+        slowSinkReleased.countDown();
+        printer.close();
+
+        assertEquals(2, printer.getDroppedReports());
+        assertEquals(3, printed.get(1).getLocation().getLat(), 0);
+        assertEquals(4, printed.get(2).getLocation().getLat(), 0);
+    }
+
+    @Test
+    public void whenReportsArePrintedWhileClosing_eachIsEitherPrintedOrCountedAsDropped() throws InterruptedException {
+
+        AsyncReportPrinter printer = new AsyncReportPrinter(printed::add, 4, OverflowPolicy.BLOCK, 2);
+        int[] offered = {0};
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 100_000; i++) {
+                printer.print(aReport(i));
+                offered[0]++;
+            }
+        });
+        producer.start();
+
+        printer.close();
+        producer.join();
+        printer.print(aReport(-1));
+
+        assertEquals(offered[0] + 1, printed.size() + printer.getDroppedReports());
+        assertEquals(printed.size(), printer.getPrintedReports());
+    }
+
+    private ReportPrinter aSlowSink() {
+        return report -> {
+            slowSinkStarted.countDown();
+            try {
+                slowSinkReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            printed.add(report);
+        };
+    }
+
+    private Report aReport(int number) {
+        return new Report(number, new Location(number, number), Report.Level.Good, Robot.SOURCE);
+    }
+}
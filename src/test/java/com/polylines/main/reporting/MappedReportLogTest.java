@@ -0,0 +1,125 @@
+package com.polylines.main.reporting;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.polylines.domain.reporting.Location;
+import com.polylines.domain.reporting.Report;
+import com.polylines.domain.robot.Robot;
+import com.polylines.infraestructure.reportstore.MappedReportLog;
+import com.polylines.infraestructure.reportstore.MappedReportLogReader;
+
+public class MappedReportLogTest {
+
+    private Path directory;
+
+    @Before
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("reportlog");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.walk(directory).sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+    }
+
+    @Test
+    public void aTimeRangeIsScannedAcrossSegments() throws IOException {
+
+        MappedReportLog log = new MappedReportLog(directory, "reports", 4);
+        for (int i = 0; i < 10; i++) {
+            log.print(aReport(1000L * i, i));
+        }
+        log.close();
+
+        MappedReportLogReader reader = new MappedReportLogReader(directory, "reports");
+        List<Integer> robots = new ArrayList<>();
+        long scanned = reader.scan(2500, 7000, (timestamp, lat, lng, level, robotId) -> robots.add(robotId));
+
+        assertEquals(10, reader.size());
+        assertEquals(4, scanned);
+        assertEquals(4, reader.count(2500, 7000));
+        assertEquals(3, (int) robots.get(0));
+        assertEquals(6, (int) robots.get(3));
+        assertEquals(10, reader.firstIndexAtOrAfter(9001));
+    }
+
+    @Test
+    public void recordsKeepEveryFieldOfTheReport() throws IOException {
+
+        MappedReportLog log = new MappedReportLog(directory, "reports");
+        log.print(new Report(1588766610723L, new Location(51.502659365074685, -0.14119854637849288),
+                Report.Level.USG, Robot.SOURCE, 42));
+        log.close();
+
+        Report report = new MappedReportLogReader(directory, "reports").reportAt(0);
+
+        assertEquals(1588766610723L, report.getTimestamp());
+        assertEquals(51.502659365074685, report.getLocation().getLat(), 0);
+        assertEquals(-0.14119854637849288, report.getLocation().getLng(), 0);
+        assertEquals(Report.Level.USG, report.getLevel());
+        assertEquals(42, report.getRobotId());
+    }
+
+    @Test
+    public void aReopenedLogContinuesWhereItStopped() throws IOException {
+
+        MappedReportLog log = new MappedReportLog(directory, "reports", 4);
+        log.print(aReport(1000, 1));
+        log.print(aReport(2000, 2));
+        log.close();
+        log = new MappedReportLog(directory, "reports", 4);
+        log.print(aReport(3000, 3));
+        //Stamped before the last report, it keeps its own timestamp
+        log.print(aReport(2500, 4));
+        log.close();
+
+        MappedReportLogReader reader = new MappedReportLogReader(directory, "reports");
+        List<Integer> robots = new ArrayList<>();
+        reader.scan(2400, 2600, (timestamp, lat, lng, level, robotId) -> robots.add(robotId));
+
+        assertEquals(4, reader.size());
+        assertEquals(2500, reader.timestampAt(3));
+        assertEquals(500, reader.lateness());
+        assertEquals(1, robots.size());
+        assertEquals(4, (int) robots.get(0));
+        assertEquals(1, reader.count(3000, 4000));
+        assertEquals(2, reader.count(2000, 3000));
+    }
+
+    @Test
+    public void aReportFromTheFutureDoesNotChangeTheTimestampsOfTheNextOnes() throws IOException {
+
+        MappedReportLog log = new MappedReportLog(directory, "reports", 2);
+        log.print(aReport(1000, 1));
+        log.print(aReport(10_000_000, 2));
+        log.print(aReport(2000, 3));
+        log.close();
+        log = new MappedReportLog(directory, "reports", 2);
+        log.print(aReport(3000, 4));
+        log.print(aReport(4000, 5));
+        log.close();
+
+        MappedReportLogReader reader = new MappedReportLogReader(directory, "reports");
+        List<Integer> robots = new ArrayList<>();
+        long scanned = reader.scan(1500, 5000, (timestamp, lat, lng, level, robotId) -> robots.add(robotId));
+
+        assertEquals(5, reader.size());
+        assertEquals(4000, reader.reportAt(4).getTimestamp());
+        assertEquals(3, scanned);
+        assertEquals(Arrays.asList(3, 4, 5), robots);
+        assertEquals(1, reader.count(10_000_000, 10_000_001));
+    }
+
+    private Report aReport(long timestamp, int robotId) {
+        return new Report(timestamp, new Location(41.8, -87.6), Report.Level.Good, Robot.SOURCE, robotId);
+    }
+}
@@ -0,0 +1,138 @@
+package com.polylines.main.reporting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polylines.domain.reporting.Location;
+import com.polylines.domain.reporting.Report;
+import com.polylines.domain.robot.Robot;
+import com.polylines.infraestructure.reportprinting.NdjsonReportPrinter;
+import com.polylines.infraestructure.reportprinting.ReportJsonWriter;
+import com.polylines.infraestructure.reportprinting.ReportOutput;
+import com.polylines.infraestructure.reportprinting.RotatingFileReportOutput;
+
+public class NdjsonReportPrinterTest {
+
+    private Path directory;
+
+    @Before
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("reports");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.walk(directory).sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+    }
+
+    @Test
+    public void reportsAreWrittenAsTheSameJsonJacksonWrites() throws IOException {
+
+        Report report = aReport(51.502659365074685, -0.14119854637849288);
+
+        String json = new ReportJsonWriter().toJson(report).toString();
+
+        assertEquals(new ObjectMapper().writeValueAsString(report), json);
+    }
+
+    @Test
+    public void whenTheFileIsFull_reportsContinueInANewFile() throws IOException {
+
+        RotatingFileReportOutput output = new RotatingFileReportOutput(directory, "reports", 250);
+        NdjsonReportPrinter printer = new NdjsonReportPrinter(output, 150, 1, TimeUnit.HOURS);
+
+        for (int i = 0; i < 5; i++) {
+            printer.print(aReport(41.8 + i, -87.6));
+        }
+        printer.close();
+
+        List<String> firstFile = lines("reports-00000.ndjson");
+        List<String> secondFile = lines("reports-00001.ndjson");
+        List<String> thirdFile = lines("reports-00002.ndjson");
+        assertEquals(2, firstFile.size());
+        assertEquals(2, secondFile.size());
+        assertEquals(1, thirdFile.size());
+        Report last = new ObjectMapper().readValue(thirdFile.get(0), Report.class);
+        assertEquals(45.8, last.getLocation().getLat(), 0);
+    }
+
+    @Test
+    public void whenNoMoreReportsArePrinted_theBufferedOnesAreStillWrittenWithinTheInterval() throws Exception {
+
+        RotatingFileReportOutput output = new RotatingFileReportOutput(directory, "reports", 1 << 20);
+        NdjsonReportPrinter printer = new NdjsonReportPrinter(output, 1 << 16, 20, TimeUnit.MILLISECONDS);
+
+        printer.print(aReport(41.8, -87.6));
+
+        Path file = directory.resolve("reports-00000.ndjson");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((!Files.exists(file) || Files.size(file) == 0) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, lines("reports-00000.ndjson").size());
+        printer.close();
+    }
+
+    @Test
+    public void whenAWriteFailsHalfway_theRestOfItsReportsIsWrittenOnTheNextFlush() throws IOException {
+
+        StringBuilder written = new StringBuilder();
+        boolean[] failing = {true};
+        ReportOutput output = new ReportOutput() {
+            @Override
+            public void write(ByteBuffer lines) throws IOException {
+                if (failing[0]) {
+                    //Takes part of the first line before failing
+                    for (int i = 0; i < 10; i++) {
+                        written.append((char) lines.get());
+                    }
+                    throw new IOException("Disk full");
+                }
+                while (lines.hasRemaining()) {
+                    written.append((char) lines.get());
+                }
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        NdjsonReportPrinter printer = new NdjsonReportPrinter(output, 1 << 16, 1, TimeUnit.HOURS);
+
+        printer.print(aReport(41.8, -87.6));
+        try {
+            printer.flush();
+        } catch (UncheckedIOException e) {
+            //Retried below
+        }
+        printer.print(aReport(42.8, -87.6));
+        failing[0] = false;
+        printer.close();
+
+        String[] lines = written.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("41.8"));
+        assertTrue(lines[1].contains("42.8"));
+        assertEquals(1, printer.getFailedFlushes());
+    }
+
+    private List<String> lines(String file) throws IOException {
+        return Files.readAllLines(directory.resolve(file), StandardCharsets.US_ASCII);
+    }
+
+    private Report aReport(double lat, double lng) {
+        return new Report(1588766610723L, new Location(lat, lng), Report.Level.Moderate, Robot.SOURCE);
+    }
+}
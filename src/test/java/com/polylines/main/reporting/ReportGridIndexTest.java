@@ -0,0 +1,118 @@
+package com.polylines.main.reporting;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import com.polylines.domain.reporting.Location;
+import com.polylines.domain.reporting.Report;
+import com.polylines.domain.robot.Robot;
+import com.polylines.infraestructure.DistanceCalculator;
+import com.polylines.infraestructure.reportstore.MappedReportLog;
+import com.polylines.infraestructure.reportstore.MappedReportLogReader;
+import com.polylines.infraestructure.reportstore.ReportFilter;
+import com.polylines.infraestructure.reportstore.ReportGridIndex;
+
+public class ReportGridIndexTest {
+
+    private static final double LAT = 41.85;
+    private static final double LNG = -87.65;
+
+    @Test
+    public void aBoxQueryFindsTheSameReportsAsAScan() {
+
+        List<Report> reports = randomReports(5000);
+        ReportGridIndex index = indexOf(reports);
+        ReportFilter unhealthyInTheFirstHalf = ReportFilter.anyReport()
+                .withLevels(Report.Level.Unhealthy)
+                .between(0, 2500);
+
+        long found = index.withinBox(LAT - 0.03, LNG - 0.02, LAT + 0.01, LNG + 0.05, unhealthyInTheFirstHalf,
+                (timestamp, lat, lng, level, robotId) -> { });
+
+        long expected = reports.stream()
+                .filter(report -> report.getLevel() == Report.Level.Unhealthy && report.getTimestamp() < 2500)
+                .filter(report -> report.getLocation().getLat() >= LAT - 0.03 && report.getLocation().getLat() <= LAT + 0.01)
+                .filter(report -> report.getLocation().getLng() >= LNG - 0.02 && report.getLocation().getLng() <= LNG + 0.05)
+                .count();
+        assertEquals(expected, found);
+    }
+
+    @Test
+    public void aRadiusQueryFindsTheSameReportsAsAScan() {
+
+        List<Report> reports = randomReports(5000);
+        ReportGridIndex index = indexOf(reports);
+
+        long found = index.withinRadius(LAT, LNG, 3000, ReportFilter.anyReport(),
+                (timestamp, lat, lng, level, robotId) -> { });
+
+        long expected = reports.stream().filter(report -> metersTo(report) <= 3000).count();
+        assertEquals(expected, found);
+    }
+
+    @Test
+    public void theNearestReportsAreTheClosestOnesInOrder() {
+
+        List<Report> reports = randomReports(5000);
+        ReportGridIndex index = indexOf(reports);
+        ReportFilter moderate = ReportFilter.anyReport().withLevels(Report.Level.Moderate);
+
+        List<Report> nearest = index.nearest(LAT + 0.2, LNG, 10, moderate);
+
+        List<Report> expected = new ArrayList<>();
+        reports.stream()
+                .filter(report -> report.getLevel() == Report.Level.Moderate)
+                .sorted((a, b) -> Double.compare(metersTo(a, LAT + 0.2), metersTo(b, LAT + 0.2)))
+                .limit(10)
+                .forEach(expected::add);
+        assertEquals(10, nearest.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(expected.get(i).getRobotId(), nearest.get(i).getRobotId());
+        }
+    }
+
+    @Test
+    public void theIndexIsLoadedFromTheReportLog() throws IOException {
+
+        Path directory = Files.createTempDirectory("reportlog");
+        MappedReportLog log = new MappedReportLog(directory, "reports", 1000);
+        randomReports(2500).forEach(log::print);
+        log.close();
+
+        ReportGridIndex index = ReportGridIndex.load(new MappedReportLogReader(directory, "reports"));
+
+        assertEquals(2500, index.size());
+        Files.walk(directory).sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+    }
+
+    private List<Report> randomReports(int count) {
+        Random random = new Random(7);
+        Report.Level[] levels = Report.Level.values();
+        List<Report> reports = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Location location = new Location(LAT + random.nextGaussian() * 0.05, LNG + random.nextGaussian() * 0.05);
+            reports.add(new Report(i, location, levels[random.nextInt(levels.length)], Robot.SOURCE, i));
+        }
+        return reports;
+    }
+
+    private ReportGridIndex indexOf(List<Report> reports) {
+        ReportGridIndex index = new ReportGridIndex();
+        reports.forEach(index::print);
+        return index;
+    }
+
+    private double metersTo(Report report) {
+        return metersTo(report, LAT);
+    }
+
+    private double metersTo(Report report, double lat) {
+        return DistanceCalculator.calculate(lat, LNG, report.getLocation().getLat(), report.getLocation().getLng());
+    }
+}
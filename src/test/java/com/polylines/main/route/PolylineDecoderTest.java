@@ -0,0 +1,115 @@
+package com.polylines.main.route;
+
+import static com.polylines.domain.robot.PolylineBuilder.aPolyline;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import org.mockito.Mockito;
+import com.google.maps.model.EncodedPolyline;
+import com.google.maps.model.LatLng;
+import com.polylines.application.moverobot.RobotPollutionCollector;
+import com.polylines.application.readparticles.RandomParticleReader;
+import com.polylines.domain.robot.Robot;
+import com.polylines.domain.robot.RobotValidationException;
+import com.polylines.domain.robot.Route;
+import com.polylines.infraestructure.PolylineDecoder;
+
+public class PolylineDecoderTest {
+
+    @Test
+    public void decodingAPolyline_returnsTheSamePointsAsTheGoogleDecoder() {
+
+        List<LatLng> expected = new EncodedPolyline(aPolyline()).decodePath();
+
+        Route route = PolylineDecoder.decode(new StringReader(aPolyline()));
+
+        assertTrue(route.isComplete());
+        assertEquals(expected.size(), route.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).lat, route.lat(i), 0);
+            assertEquals(expected.get(i).lng, route.lng(i), 0);
+        }
+    }
+
+    @Test
+    public void whenThePolylineIsDecodedLazily_theRobotStartsMovingBeforeItIsFullyDecoded()
+            throws RobotValidationException {
+
+        Route eagerRoute = PolylineDecoder.decode(aPolyline());
+        Route lazyRoute = PolylineDecoder.decodeLazily(aPolyline());
+        Robot eagerRobot = new Robot(eagerRoute, 2);
+        Robot lazyRobot = new Robot(lazyRoute, 2);
+        RobotPollutionCollector eagerCollector = new RobotPollutionCollector(eagerRobot, aParticleReader());
+        RobotPollutionCollector lazyCollector = new RobotPollutionCollector(lazyRobot, aParticleReader());
+
+        eagerCollector.moveRobot();
+        lazyCollector.moveRobot();
+
+        assertFalse(lazyRoute.isComplete());
+        assertEquals(eagerRobot.getCurrentPosition(), lazyRobot.getCurrentPosition());
+
+        while (!eagerRobot.atTheEndOfJourney()) {
+            eagerCollector.moveRobot();
+            lazyCollector.moveRobot();
+            assertEquals(eagerRobot.getCurrentPosition(), lazyRobot.getCurrentPosition());
+        }
+        assertTrue(lazyRobot.atTheEndOfJourney());
+    }
+
+    @Test
+    public void whenTwoThreadsReadALazyRouteAhead_bothSeeTheSamePositionsAsTheEagerRoute() throws Exception {
+
+        String polyline = aRandomWalk(50_000);
+        Route eagerRoute = PolylineDecoder.decode(polyline);
+        Route lazyRoute = PolylineDecoder.decodeLazily(polyline);
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+
+        List<Future<?>> walks = new ArrayList<>();
+        for (double step : new double[] {1, 7}) {
+            walks.add(threads.submit(() -> {
+                for (double meters = 0; meters <= eagerRoute.totalMeters() + step; meters += step) {
+                    assertEquals(eagerRoute.positionAtDistance(meters), lazyRoute.positionAtDistance(meters));
+                }
+            }));
+        }
+        for (Future<?> walk : walks) {
+            walk.get();
+        }
+        threads.shutdown();
+
+        assertTrue(lazyRoute.isComplete());
+        assertEquals(eagerRoute.size(), lazyRoute.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenThePolylineIsCutInTheMiddleOfAPoint_decodingFails() {
+
+        PolylineDecoder.decode(aPolyline().substring(0, 3));
+    }
+
+    private String aRandomWalk(int points) {
+        Random random = new Random(42);
+        List<LatLng> path = new ArrayList<>(points);
+        double lat = 41.84888;
+        double lng = -87.63860;
+        for (int i = 0; i < points; i++) {
+            path.add(new LatLng(lat, lng));
+            lat += (random.nextInt(9) - 4) * 1e-5;
+            lng += (random.nextInt(9) - 4) * 1e-5;
+        }
+        return new EncodedPolyline(path).getEncodedPath();
+    }
+
+    private RandomParticleReader aParticleReader() {
+        return new RandomParticleReader(Mockito.mock(Random.class));
+    }
+}
@@ -0,0 +1,46 @@
+package com.polylines.main.route;
+
+import static com.polylines.domain.robot.GeoPointBuilder.aGeoPoint;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.Random;
+import org.junit.Test;
+import com.polylines.application.moverobot.RobotPollutionCollector;
+import com.polylines.application.readparticles.RandomParticleReader;
+import com.polylines.domain.robot.Robot;
+import com.polylines.domain.robot.RobotValidationException;
+import com.polylines.infraestructure.PolylineDecoder;
+
+public class RobotPositionTest {
+
+    private static final String POLYLINE = "orl~Ff|{uO~@y@}A_AEsE";
+
+    @Test
+    public void positionAtAnyElapsedTime_isTheSameTheRobotReachesMovingTickByTick() throws RobotValidationException {
+
+        Robot robot = new Robot(PolylineDecoder.decode(POLYLINE), 1.7);
+        Robot queriedRobot = new Robot(PolylineDecoder.decode(POLYLINE), 1.7);
+        RobotPollutionCollector app = new RobotPollutionCollector(robot, new RandomParticleReader(mock(Random.class)));
+
+        for (int elapsedSeconds = 1; !robot.atTheEndOfJourney(); elapsedSeconds++) {
+            app.moveRobot();
+            assertEquals(robot.getCurrentPosition(), queriedRobot.positionAt(elapsedSeconds));
+        }
+    }
+
+    @Test
+    public void positionAtDistance_returnsTheWaypointsAtTheirCumulativeDistanceAndClampsTheEnds()
+            throws RobotValidationException {
+
+        Robot robot = new Robot(asList(
+                aGeoPoint(41.84888, -87.63860),
+                aGeoPoint(41.84856, -87.63831),
+                aGeoPoint(41.84903, -87.63799)), 2);
+
+        assertEquals(aGeoPoint(41.84888, -87.63860), robot.positionAtDistance(-10));
+        assertEquals(aGeoPoint(41.84856, -87.63831), robot.positionAtDistance(robot.route.cumulativeMeters(1)));
+        assertEquals(aGeoPoint(41.84903, -87.63799), robot.positionAtDistance(10000));
+    }
+}
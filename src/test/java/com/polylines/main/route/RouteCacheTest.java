@@ -0,0 +1,54 @@
+package com.polylines.main.route;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import com.polylines.domain.robot.Route;
+import com.polylines.infraestructure.RouteCache;
+
+public class RouteCacheTest {
+
+    private static final String FIRST = "_p~iF~ps|U_ulLnnqC_mqNvxq`@";
+    private static final String SECOND = "mpjyHx`i@VjAVKnAh@BHHX@LZR@Bj@Ml@WWc@]w@bAyAfBmCb@o@pLeQfCsDVa@@ODQR}AJ{A";
+
+    @Test
+    public void robotsDrivingTheSamePolylineShareOneRoute() {
+
+        RouteCache cache = new RouteCache(1 << 20);
+
+        Route first = cache.get(FIRST);
+        Route again = cache.get(FIRST);
+        Route second = cache.get(SECOND);
+
+        assertSame(first, again);
+        assertNotSame(first, second);
+        assertTrue(first.isComplete());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void theLeastRecentlyUsedRouteIsEvictedWhenTheCacheIsFull() {
+
+        RouteCache unbounded = new RouteCache(1 << 20);
+        unbounded.get(FIRST);
+        long firstBytes = unbounded.getBytes();
+        unbounded.get(SECOND);
+        RouteCache cache = new RouteCache(unbounded.getBytes());
+        Route first = cache.get(FIRST);
+        cache.get(SECOND);
+        cache.get(FIRST);
+
+        cache.get("a~l~Fjk~uOwHJy@P");
+
+        assertEquals(1, cache.getEvictions());
+        assertSame(first, cache.get(FIRST));
+        assertEquals(2, cache.size());
+        assertTrue(cache.getBytes() <= unbounded.getBytes());
+        assertTrue(cache.getBytes() > firstBytes);
+    }
+}
@@ -0,0 +1,75 @@
+package com.polylines.main.route;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import com.polylines.domain.robot.Route;
+import com.polylines.domain.robot.RouteBuilder;
+import com.polylines.domain.robot.RouteSimplifier;
+import com.polylines.domain.robot.SimplifiedRoute;
+
+public class RouteSimplifierTest {
+
+    @Test
+    public void nearlyCollinearPointsAreRemovedAndCornersKept() {
+
+        RouteBuilder builder = RouteBuilder.aRoute();
+        for (int i = 0; i <= 100; i++) {
+            builder.add(41.84 + i * 1e-5, -87.63 + (i % 2) * 1e-6);
+        }
+        for (int i = 1; i <= 100; i++) {
+            builder.add(41.841, -87.63 + i * 1e-5);
+        }
+        Route route = builder.build();
+
+        SimplifiedRoute simplified = new RouteSimplifier(1).simplify(route);
+
+        assertEquals(3, simplified.getRoute().size());
+        assertEquals(198, simplified.getRemovedPoints());
+        assertEquals(route.pointAt(100), simplified.getRoute().pointAt(1));
+        assertTrue(simplified.getMaxDeviationMeters() > 0);
+        assertTrue(simplified.getMaxDeviationMeters() <= 1);
+    }
+
+    @Test
+    public void aZigZagWithinTheToleranceIsKeptWhenDroppingItWouldShortenTheRouteTooMuch() {
+
+        RouteBuilder builder = RouteBuilder.aRoute();
+        for (int i = 0; i <= 1000; i++) {
+            builder.add(41.84 + i * 1e-5, -87.63 + (i % 2) * 2e-5);
+        }
+        Route route = builder.build();
+
+        SimplifiedRoute lossy = new RouteSimplifier(5, 0.99).simplify(route);
+        SimplifiedRoute bounded = new RouteSimplifier(5, 0.01).simplify(route);
+
+        assertEquals(2, lossy.getRoute().size());
+        assertTrue(lossy.getLengthLossMeters() > 0.3 * route.totalMeters());
+        assertTrue(bounded.getRemovedPoints() < 1000);
+        assertTrue(bounded.getLengthLossMeters() <= 0.01 * route.totalMeters());
+    }
+
+    @Test
+    public void largeRoutesAreSimplifiedInParallelToTheSameResult() {
+
+        RouteBuilder builder = RouteBuilder.aRoute();
+        for (int i = 0; i < 200_000; i++) {
+            double along = i * 1e-5;
+            builder.add(41.84 + along, -87.63 + 0.01 * Math.sin(along * 50) + (i % 7) * 1e-7);
+        }
+        Route route = builder.build();
+
+        SimplifiedRoute parallel = new RouteSimplifier(2, 0.01, new ForkJoinPool(4)).simplify(route);
+        SimplifiedRoute sequential = new RouteSimplifier(2, 0.01, new ForkJoinPool(1)).simplify(route);
+
+        assertTrue(parallel.getRemovedPoints() > 190_000);
+        assertTrue(parallel.getMaxDeviationMeters() <= 2);
+        assertTrue(parallel.getLengthLossMeters() <= 0.01 * route.totalMeters());
+        assertEquals(sequential.getRoute().size(), parallel.getRoute().size());
+        for (int i = 0; i < parallel.getRoute().size(); i++) {
+            assertEquals(sequential.getRoute().pointAt(i), parallel.getRoute().pointAt(i));
+        }
+    }
+}
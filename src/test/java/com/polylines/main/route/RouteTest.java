@@ -0,0 +1,71 @@
+package com.polylines.main.route;
+
+import static com.polylines.domain.robot.GeoPointBuilder.aGeoPoint;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import com.polylines.domain.robot.GeoPoint;
+import com.polylines.domain.robot.Route;
+import com.polylines.domain.robot.RouteBuilder;
+import com.polylines.infraestructure.DistanceCalculator;
+
+public class RouteTest {
+
+    @Test
+    public void whenRouteIsBuilt_cumulativeDistancesAreTheSumOfTheSegments() {
+
+        Route route = Route.of(asList(
+                aGeoPoint(41.84888, -87.63860),
+                aGeoPoint(41.84856, -87.63831),
+                aGeoPoint(41.84903, -87.63799)));
+
+        double firstSegment =
+                DistanceCalculator.calculate(aGeoPoint(41.84888, -87.63860), aGeoPoint(41.84856, -87.63831));
+        double secondSegment =
+                DistanceCalculator.calculate(aGeoPoint(41.84856, -87.63831), aGeoPoint(41.84903, -87.63799));
+
+        assertEquals(3, route.size());
+        assertEquals(0, route.cumulativeMeters(0), 0);
+        assertEquals(firstSegment, route.cumulativeMeters(1), 0);
+        assertEquals(firstSegment + secondSegment, route.totalMeters(), 0);
+        assertEquals(aGeoPoint(41.84903, -87.63799), route.lastPoint());
+    }
+
+    @Test
+    public void interpolatingHalfASegment_returnsTheMiddlePointOfTheGreatCircle() {
+
+        Route route = RouteBuilder.aRoute()
+                .add(41.0, -87.0)
+                .add(42.0, -88.0)
+                .build();
+
+        assertNear(aGeoPoint(41.50108265160402, -87.49613946179895),
+                route.interpolate(0, route.segmentMeters(0) / 2));
+    }
+
+    @Test
+    public void interpolatedPoints_areAsFarFromTheStartAsTheMetersIntoTheSegment() {
+
+        Route route = RouteBuilder.aRoute()
+                .add(40.64, -73.78)
+                .add(51.47, -0.45)
+                .add(78.22, 15.65)
+                .add(71.29, -156.79)
+                .build();
+
+        for (int segment = 0; segment < 3; segment++) {
+            GeoPoint start = route.pointAt(segment);
+            for (double radio = 0.1; radio < 1; radio += 0.2) {
+                double meters = route.segmentMeters(segment) * radio;
+                assertEquals(meters, DistanceCalculator.calculate(start, route.interpolate(segment, meters)), 1e-3);
+            }
+        }
+    }
+
+    //Slerp goes through trigonometric functions whose last bit differs between JDKs
+    private static void assertNear(GeoPoint expected, GeoPoint actual) {
+        assertEquals(expected.lat, actual.lat, 1e-12);
+        assertEquals(expected.lng, actual.lng, 1e-12);
+    }
+}
@@ -0,0 +1,115 @@
+package com.polylines.main.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.polylines.application.scheduler.Scheduler;
+import com.polylines.application.scheduler.TimingWheel;
+import com.polylines.application.scheduler.WheelScheduler;
+
+public class TimingWheelTest {
+
+    private TimingWheel wheel;
+
+    @Before
+    public void setup() {
+        wheel = new TimingWheel(2, 1, TimeUnit.MILLISECONDS, 64);
+    }
+
+    @After
+    public void tearDown() {
+        wheel.shutdown();
+    }
+
+    @Test
+    public void manyTimersWithTheirOwnPeriodsRunOnAFewThreads() throws InterruptedException {
+
+        int timers = 20_000;
+        CountDownLatch everyTimerRanTwice = new CountDownLatch(timers);
+        for (int i = 0; i < timers; i++) {
+            AtomicInteger runs = new AtomicInteger();
+            wheel.schedule(() -> {
+                if (runs.incrementAndGet() == 2) {
+                    everyTimerRanTwice.countDown();
+                }
+            }, 0, 5 + i % 100, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(everyTimerRanTwice.await(10, TimeUnit.SECONDS));
+        assertEquals(timers, wheel.getActiveTimers());
+    }
+
+    @Test
+    public void aTimerLongerThanOneTurnOfTheWheelWaitsForItsRound() throws InterruptedException {
+
+        CountDownLatch ran = new CountDownLatch(1);
+        long start = System.nanoTime();
+        wheel.schedule(ran::countDown, 150, 1000, TimeUnit.MILLISECONDS);
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(150));
+    }
+
+    @Test
+    public void aOneShotTimerRunsOnceAndIsNoLongerActive() throws InterruptedException {
+
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch ran = new CountDownLatch(1);
+        wheel.schedule(() -> {
+            runs.incrementAndGet();
+            ran.countDown();
+        }, 20, TimeUnit.MILLISECONDS);
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        assertEquals(1, runs.get());
+        assertEquals(0, wheel.getActiveTimers());
+    }
+
+    @Test
+    public void aCancelledTimerStopsWhileTheOthersGoOn() throws InterruptedException {
+
+        AtomicInteger cancelledRuns = new AtomicInteger();
+        CountDownLatch otherRuns = new CountDownLatch(20);
+        TimingWheel.TimerHandle cancelled = wheel.schedule(cancelledRuns::incrementAndGet, 0, 2, TimeUnit.MILLISECONDS);
+        wheel.schedule(otherRuns::countDown, 0, 2, TimeUnit.MILLISECONDS);
+
+        cancelled.cancel();
+        int runsWhenCancelled = cancelledRuns.get();
+
+        assertTrue(otherRuns.await(5, TimeUnit.SECONDS));
+        //At most the run already handed to a worker completes after the cancellation
+        assertTrue(cancelledRuns.get() <= runsWhenCancelled + 1);
+        assertTrue(cancelled.isCancelled());
+        assertEquals(1, wheel.getActiveTimers());
+    }
+
+    @Test
+    public void aStoppedWheelSchedulerCanBeStartedAgain() throws InterruptedException {
+
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch ranAgain = new CountDownLatch(1);
+        Scheduler scheduler = new WheelScheduler(wheel, 2, 0, TimeUnit.MILLISECONDS);
+        scheduler.addTask(() -> {
+            if (runs.incrementAndGet() > 5) {
+                ranAgain.countDown();
+            }
+        });
+
+        scheduler.start();
+        scheduler.stop();
+        assertEquals(0, wheel.getActiveTimers());
+        scheduler.start();
+        scheduler.start();
+
+        assertTrue(ranAgain.await(5, TimeUnit.SECONDS));
+        assertEquals(1, wheel.getActiveTimers());
+    }
+}
@@ -0,0 +1,101 @@
+package com.polylines.main.scheduler;
+
+import static com.polylines.domain.robot.GeoPointBuilder.aGeoPoint;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import com.polylines.application.generatereport.ReportGeneratorService;
+import com.polylines.application.moverobot.RobotPollutionCollector;
+import com.polylines.application.readparticles.RandomParticleReader;
+import com.polylines.application.scheduler.Scheduler;
+import com.polylines.application.scheduler.VirtualClock;
+import com.polylines.application.scheduler.VirtualScheduler;
+import com.polylines.domain.observers.SchedulerObserver;
+import com.polylines.domain.robot.Robot;
+import com.polylines.domain.robot.RobotValidationException;
+
+public class VirtualSchedulerTest {
+
+    private static final long START = 1588766610723L;
+    private VirtualClock clock;
+    private List<String> performed;
+
+    @Before
+    public void setup() {
+        clock = new VirtualClock(START);
+        performed = new ArrayList<>();
+    }
+
+    @Test
+    public void tasksOfDifferentSchedulersArePerformedInDueOrder_andInStartOrderWhenDueAtTheSameTime() {
+
+        Scheduler everySecond = new VirtualScheduler(clock, 1, 0, TimeUnit.SECONDS);
+        Scheduler everyTwoSeconds = new VirtualScheduler(clock, 2, 2, TimeUnit.SECONDS);
+        everySecond.addTask(() -> performed.add("1s@" + clock.elapsed(TimeUnit.SECONDS)));
+        everyTwoSeconds.addTask(() -> performed.add("2s@" + clock.elapsed(TimeUnit.SECONDS)));
+
+        everySecond.start();
+        everyTwoSeconds.start();
+        clock.runFor(4, TimeUnit.SECONDS);
+
+        assertEquals(asList("1s@0", "1s@1", "2s@2", "1s@2", "1s@3", "2s@4", "1s@4"), performed);
+        assertEquals(START + 4000, clock.millis());
+    }
+
+    @Test
+    public void whenTheRobotArrives_theSimulationEndsAndReportsArePrintedAtVirtualTime()
+            throws RobotValidationException {
+
+        //7122 meters apart, so the journey takes about an hour at 2 m/s
+        Robot robot = new Robot(asList(
+                aGeoPoint(41.87790, -87.66001),
+                aGeoPoint(41.82445, -87.61263)), 2);
+        RandomParticleReader particleReader = new RandomParticleReader(mock(Random.class));
+        List<Long> reportTimes = new ArrayList<>();
+
+        Scheduler robotScheduler = new VirtualScheduler(clock, 1, 0, TimeUnit.SECONDS);
+        Scheduler reportingScheduler = new VirtualScheduler(clock, 15, 15, TimeUnit.MINUTES);
+        robot.registerObserver(new SchedulerObserver(robotScheduler));
+        robot.registerObserver(new SchedulerObserver(reportingScheduler));
+        robotScheduler.addTask(new RobotPollutionCollector(robot, particleReader)::moveRobot);
+        reportingScheduler.addTask(new ReportGeneratorService(robot, particleReader, report -> reportTimes.add(clock.millis()), clock)::generate);
+
+        robotScheduler.start();
+        reportingScheduler.start();
+        clock.run();
+
+        assertTrue(robot.atTheEndOfJourney());
+        assertFalse(clock.hasPendingTasks());
+        assertEquals(3561, clock.elapsed(TimeUnit.SECONDS));
+        assertEquals(asList(
+                START + TimeUnit.MINUTES.toMillis(15),
+                START + TimeUnit.MINUTES.toMillis(30),
+                START + TimeUnit.MINUTES.toMillis(45)), reportTimes);
+    }
+
+    @Test
+    public void aZonedViewOfTheClockMovesWithIt() {
+
+        Clock madrid = clock.withZone(ZoneId.of("Europe/Madrid"));
+
+        clock.runFor(90, TimeUnit.MINUTES);
+
+        assertEquals(ZoneId.of("Europe/Madrid"), madrid.getZone());
+        assertEquals(clock.instant(), madrid.instant());
+        assertEquals(START + TimeUnit.MINUTES.toMillis(90), madrid.millis());
+        assertEquals(ZonedDateTime.ofInstant(clock.instant(), ZoneId.of("Europe/Madrid")), ZonedDateTime.now(madrid));
+        assertTrue(madrid.withZone(clock.getZone()) == clock);
+    }
+}
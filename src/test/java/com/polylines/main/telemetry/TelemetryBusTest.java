@@ -0,0 +1,123 @@
+package com.polylines.main.telemetry;
+
+import static com.polylines.domain.robot.GeoPointBuilder.aGeoPoint;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.polylines.application.moverobot.RobotPollutionCollector;
+import com.polylines.application.readparticles.RandomParticleReader;
+import com.polylines.application.telemetry.TelemetryBus;
+import com.polylines.domain.particlesreading.ReadingListener;
+import com.polylines.domain.robot.Robot;
+import com.polylines.domain.robot.RobotValidationException;
+import com.polylines.domain.robot.Route;
+import com.polylines.domain.telemetry.TelemetryEventType;
+
+public class TelemetryBusTest {
+
+    private TelemetryBus bus;
+
+    @Before
+    public void setup() {
+        bus = new TelemetryBus(8);
+    }
+
+    @After
+    public void tearDown() {
+        bus.close();
+    }
+
+    @Test
+    public void theMovementOfARobotIsPublishedAsEvents() throws RobotValidationException {
+
+        Robot robot = new Robot(7, Route.of(asList(
+                aGeoPoint(41.84888, -87.63860),
+                aGeoPoint(41.84856, -87.63831),
+                aGeoPoint(41.84903, -87.63799),
+                aGeoPoint(41.84906, -87.63693))), 250);
+        RobotPollutionCollector collector = new RobotPollutionCollector(robot,
+                new RandomParticleReader(mock(Random.class)), ReadingListener.NONE, bus);
+        List<TelemetryEventType> types = new ArrayList<>();
+        List<Integer> robots = new ArrayList<>();
+        bus.subscribe(event -> {
+            types.add(event.getType());
+            robots.add(event.getRobotId());
+        });
+
+        collector.moveRobot();
+        bus.close();
+
+        assertEquals(asList(
+                TelemetryEventType.WAYPOINT_REACHED,
+                TelemetryEventType.WAYPOINT_REACHED,
+                TelemetryEventType.READING_TAKEN,
+                TelemetryEventType.WAYPOINT_REACHED,
+                TelemetryEventType.JOURNEY_FINISHED), types);
+        robots.forEach(id -> assertEquals(7, (int) id));
+    }
+
+    @Test
+    public void aSlowSubscriberLosesTheOverwrittenEventsWithoutSlowingThePublisher() throws InterruptedException {
+
+        CountDownLatch firstEvent = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TelemetryBus.Subscription subscription = bus.subscribe(event -> {
+            firstEvent.countDown();
+            await(release);
+        });
+
+        bus.publish(TelemetryEventType.READING_TAKEN, 1, 0, 0, 0, 0);
+        assertTrue(firstEvent.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < 100; i++) {
+            bus.publish(TelemetryEventType.READING_TAKEN, 1, 0, 0, 0, i);
+        }
+        release.countDown();
+        subscription.cancel();
+
+        assertTrue(subscription.getLostEvents() > 0);
+        assertEquals(100, subscription.getReceivedEvents() + subscription.getLostEvents());
+    }
+
+    @Test
+    public void everyPublishingThreadHasItsOwnRing() throws InterruptedException {
+
+        TelemetryBus bigBus = new TelemetryBus(1 << 14);
+        long[] sumOfValues = {0};
+        TelemetryBus.Subscription subscription = bigBus.subscribe(event -> sumOfValues[0] += event.getValue());
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            producers.execute(() -> {
+                for (int i = 1; i <= 1000; i++) {
+                    bigBus.publish(TelemetryEventType.WAYPOINT_REACHED, 1, 0, 0, 0, i);
+                }
+            });
+        }
+        producers.shutdown();
+        producers.awaitTermination(5, TimeUnit.SECONDS);
+        bigBus.close();
+
+        assertEquals(4000, subscription.getReceivedEvents());
+        assertEquals(0, subscription.getLostEvents());
+        assertEquals(4 * 500500, sumOfValues[0]);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}